@@ -0,0 +1,5 @@
+package com.db.assetstore.domain.search;
+
+public enum AggregateFunction {
+    COUNT, SUM, MIN, MAX, AVG
+}
@@ -0,0 +1,22 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Metrics computed in the database over the assets matching {@code criteria}, one row per combination of
+ * {@code groupBy} values (a single row when there is no grouping). The sort of the criteria is ignored.
+ */
+public record AggregateQuery(@NonNull SearchCriteria criteria,
+                             @NonNull List<GroupKey> groupBy,
+                             @NonNull List<Aggregation> metrics) {
+
+    public AggregateQuery {
+        if (metrics.isEmpty()) {
+            throw new IllegalArgumentException("Aggregate query needs at least one metric");
+        }
+        groupBy = List.copyOf(groupBy);
+        metrics = List.copyOf(metrics);
+    }
+}
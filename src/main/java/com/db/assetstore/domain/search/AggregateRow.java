@@ -0,0 +1,10 @@
+package com.db.assetstore.domain.search;
+
+import java.util.Map;
+
+/**
+ * One row of an aggregate result, keyed by {@link GroupKey#label()} and {@link Aggregation#label()}
+ * in query order.
+ */
+public record AggregateRow(Map<String, Object> group, Map<String, Object> metrics) {
+}
@@ -0,0 +1,53 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One metric of an aggregate query: {@code COUNT} of assets (no target) or of present values, or
+ * {@code SUM}/{@code MIN}/{@code MAX}/{@code AVG} over a numeric core field or a {@code DECIMAL} attribute.
+ *
+ * @param field     numeric core field aggregated, {@code null} when aggregating an attribute or counting assets
+ * @param attribute {@code DECIMAL} attribute aggregated, {@code null} when aggregating a field or counting assets
+ */
+public record Aggregation(@NonNull AggregateFunction function, AssetField field, String attribute) {
+
+    private static final Set<AssetField> NUMERIC_FIELDS = Set.of(AssetField.NOTIONAL_AMOUNT, AssetField.YEAR);
+
+    public Aggregation {
+        if (field != null && attribute != null) {
+            throw new IllegalArgumentException("Aggregation targets either a field or an attribute");
+        }
+        if (function != AggregateFunction.COUNT && field == null && attribute == null) {
+            throw new IllegalArgumentException(function + " needs a field or an attribute");
+        }
+        if (function != AggregateFunction.COUNT && field != null && !NUMERIC_FIELDS.contains(field)) {
+            throw new IllegalArgumentException(function + " is unsupported for field " + field.property());
+        }
+    }
+
+    public static Aggregation count() {
+        return new Aggregation(AggregateFunction.COUNT, null, null);
+    }
+
+    public static Aggregation of(AggregateFunction function, AssetField field) {
+        return new Aggregation(function, field, null);
+    }
+
+    public static Aggregation ofAttribute(AggregateFunction function, String attribute) {
+        return new Aggregation(function, null, attribute);
+    }
+
+    /**
+     * Name of the metric in a result row, e.g. {@code count} or {@code sum_notionalAmount}.
+     */
+    public String label() {
+        String name = function.name().toLowerCase(Locale.ROOT);
+        if (field != null) {
+            return name + "_" + field.property();
+        }
+        return attribute != null ? name + "_" + attribute : name;
+    }
+}
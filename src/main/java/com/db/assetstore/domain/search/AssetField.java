@@ -0,0 +1,39 @@
+package com.db.assetstore.domain.search;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Core asset columns that searches can filter and sort on, named after the {@code Asset} properties.
+ */
+public enum AssetField {
+    STATUS("status", String.class),
+    SUBTYPE("subtype", String.class),
+    CURRENCY("currency", String.class),
+    NOTIONAL_AMOUNT("notionalAmount", BigDecimal.class),
+    YEAR("year", Integer.class),
+    CREATED_AT("createdAt", Instant.class),
+    MODIFIED_AT("modifiedAt", Instant.class);
+
+    private final String property;
+    private final Class<?> javaType;
+
+    AssetField(String property, Class<?> javaType) {
+        this.property = property;
+        this.javaType = javaType;
+    }
+
+    public String property() { return property; }
+    public Class<?> javaType() { return javaType; }
+
+    /**
+     * @throws IllegalArgumentException when no field has that property name
+     */
+    public static AssetField fromProperty(String property) {
+        return Arrays.stream(values())
+                .filter(field -> field.property.equals(property))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown asset field: " + property));
+    }
+}
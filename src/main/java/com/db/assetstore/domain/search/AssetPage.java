@@ -0,0 +1,17 @@
+package com.db.assetstore.domain.search;
+
+import com.db.assetstore.domain.model.asset.Asset;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated asset search.
+ *
+ * @param nextCursor token for the following page, {@code null} on the last page
+ */
+public record AssetPage(List<Asset> items, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -3,18 +3,40 @@ package com.db.assetstore.domain.search;
 import com.db.assetstore.domain.model.attribute.AttributeValue;
 import lombok.NonNull;
 
-public final class Condition<T> {
+import java.util.List;
+
+public final class Condition<T> implements SearchExpression {
     private final String attribute;
     private final Operator operator;
-    private final AttributeValue<T> value;
+    private final List<AttributeValue<T>> values;
 
     public Condition(@NonNull String attribute, @NonNull Operator operator, AttributeValue<T> value) {
+        this(attribute, operator, value == null ? List.of() : List.of(value));
+    }
+
+    /**
+     * Multi-value form used by {@link Operator#IN} (one or more values) and {@link Operator#BETWEEN}
+     * (inclusive lower and upper bound).
+     *
+     * @throws IllegalArgumentException when the number of values does not fit the operator
+     */
+    public Condition(@NonNull String attribute, @NonNull Operator operator, @NonNull List<AttributeValue<T>> values) {
+        int arity = operator.arity();
+        if (arity >= 0 ? values.size() != arity : values.isEmpty()) {
+            throw new IllegalArgumentException("Operator %s expects %s value(s) but got %d (attr=%s)"
+                    .formatted(operator, arity >= 0 ? arity : "1+", values.size(), attribute));
+        }
         this.attribute = attribute;
         this.operator = operator;
-        this.value = value;
+        this.values = List.copyOf(values);
+    }
+
+    public static <T> Condition<T> isNull(String attribute) {
+        return new Condition<>(attribute, Operator.IS_NULL, List.of());
     }
 
     public String attribute() { return attribute; }
     public Operator operator() { return operator; }
-    public AttributeValue<T> value() { return value; }
+    public AttributeValue<T> value() { return values.isEmpty() ? null : values.get(0); }
+    public List<AttributeValue<T>> values() { return values; }
 }
@@ -0,0 +1,49 @@
+package com.db.assetstore.domain.search;
+
+import com.db.assetstore.domain.model.type.AttributeType;
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.time.temporal.ChronoUnit;
+import java.util.Set;
+
+/**
+ * One attribute of a facet query. Values are counted as stored unless a bucket is given: {@code DECIMAL} values
+ * can be floored to multiples of {@code numericBucket} and {@code DATE} values truncated to a day, month or year
+ * (UTC), so a range facet needs no extra query.
+ *
+ * @param attributeType type of the attribute, which selects the value column
+ * @param numericBucket positive bucket width for a {@code DECIMAL} attribute, {@code null} for exact values
+ * @param dateBucket    {@code DAYS}, {@code MONTHS} or {@code YEARS} for a {@code DATE} attribute, {@code null}
+ *                      for exact values
+ */
+public record Facet(@NonNull String attribute,
+                    @NonNull AttributeType attributeType,
+                    BigDecimal numericBucket,
+                    ChronoUnit dateBucket) {
+
+    private static final Set<ChronoUnit> DATE_BUCKETS = Set.of(ChronoUnit.DAYS, ChronoUnit.MONTHS, ChronoUnit.YEARS);
+
+    public Facet {
+        if (numericBucket != null && (attributeType != AttributeType.DECIMAL || numericBucket.signum() <= 0)) {
+            throw new IllegalArgumentException("Numeric bucket of facet " + attribute
+                    + " needs a positive width on a DECIMAL attribute");
+        }
+        if (dateBucket != null && (attributeType != AttributeType.DATE || !DATE_BUCKETS.contains(dateBucket))) {
+            throw new IllegalArgumentException("Date bucket of facet " + attribute
+                    + " needs DAYS, MONTHS or YEARS on a DATE attribute");
+        }
+    }
+
+    public static Facet of(String attribute, AttributeType attributeType) {
+        return new Facet(attribute, attributeType, null, null);
+    }
+
+    public static Facet bucketed(String attribute, BigDecimal width) {
+        return new Facet(attribute, AttributeType.DECIMAL, width, null);
+    }
+
+    public static Facet bucketed(String attribute, ChronoUnit unit) {
+        return new Facet(attribute, AttributeType.DATE, null, unit);
+    }
+}
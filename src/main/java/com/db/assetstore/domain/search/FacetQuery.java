@@ -0,0 +1,29 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Value counts for the {@code facets} over the assets matching {@code criteria}, keeping the {@code size} most
+ * frequent values of each attribute. The sort of the criteria is ignored.
+ */
+public record FacetQuery(@NonNull SearchCriteria criteria, @NonNull List<Facet> facets, int size) {
+
+    public FacetQuery {
+        if (facets.isEmpty()) {
+            throw new IllegalArgumentException("Facet query needs at least one attribute");
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException("Facet size must be positive but was " + size);
+        }
+        var names = new HashSet<String>();
+        for (Facet facet : facets) {
+            if (!names.add(facet.attribute())) {
+                throw new IllegalArgumentException("Duplicate facet attribute: " + facet.attribute());
+            }
+        }
+        facets = List.copyOf(facets);
+    }
+}
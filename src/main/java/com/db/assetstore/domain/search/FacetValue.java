@@ -0,0 +1,8 @@
+package com.db.assetstore.domain.search;
+
+/**
+ * One value of a facet and the number of matching assets holding it; for bucketed facets {@code value} is the
+ * lower bound of the bucket.
+ */
+public record FacetValue(Object value, long count) {
+}
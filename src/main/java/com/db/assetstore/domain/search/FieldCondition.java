@@ -0,0 +1,32 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Condition on a core asset column, evaluated directly on the asset row. Values must have the
+ * {@link AssetField#javaType() type} of the field; the number of values follows {@link Operator#arity()}.
+ */
+public record FieldCondition(@NonNull AssetField field, @NonNull Operator operator, @NonNull List<?> values)
+        implements SearchExpression {
+
+    public FieldCondition {
+        int arity = operator.arity();
+        if (arity >= 0 ? values.size() != arity : values.isEmpty()) {
+            throw new IllegalArgumentException("Operator %s expects %s value(s) but got %d (field=%s)"
+                    .formatted(operator, arity >= 0 ? arity : "1+", values.size(), field.property()));
+        }
+        for (Object value : values) {
+            if (!field.javaType().isInstance(value)) {
+                throw new IllegalArgumentException("Field %s needs non-null %s values but got %s"
+                        .formatted(field.property(), field.javaType().getSimpleName(), value));
+            }
+        }
+        values = List.copyOf(values);
+    }
+
+    public FieldCondition(AssetField field, Operator operator, Object... values) {
+        this(field, operator, List.of(values));
+    }
+}
@@ -0,0 +1,85 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sparse fieldset of an asset read: the core properties and attributes a caller needs. Only those columns
+ * and attribute rows are loaded and serialised.
+ *
+ * @param properties    selected core properties, named as in the asset JSON
+ * @param attributes    selected attribute names, ignored when {@code allAttributes} is set
+ * @param allAttributes whether every attribute is selected
+ */
+public record FieldSelection(@NonNull Set<String> properties, @NonNull Set<String> attributes, boolean allAttributes) {
+
+    public static final List<String> PROPERTIES = List.of(
+            "id", "type", "version", "status", "subtype", "statusEffectiveTime", "createdAt", "createdBy",
+            "modifiedAt", "modifiedBy", "softDelete", "notionalAmount", "year", "wh", "sourceSystemName",
+            "externalReference", "description", "currency");
+
+    public static final FieldSelection ALL = new FieldSelection(Set.copyOf(PROPERTIES), Set.of(), true);
+
+    private static final String ATTRIBUTES = "attributes";
+
+    public FieldSelection {
+        for (String property : properties) {
+            if (!PROPERTIES.contains(property)) {
+                throw new IllegalArgumentException("Unknown field: " + property);
+            }
+        }
+        properties = Set.copyOf(properties);
+        attributes = allAttributes ? Set.of() : Set.copyOf(attributes);
+    }
+
+    /**
+     * Parses a comma-separated list such as {@code id,status,attributes.city}; {@code attributes} alone selects
+     * every attribute. A missing or blank list selects everything.
+     *
+     * @throws IllegalArgumentException when a core property is unknown
+     */
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        var properties = new LinkedHashSet<String>();
+        var attributes = new LinkedHashSet<String>();
+        boolean allAttributes = false;
+        for (String raw : fields.split(",")) {
+            String field = raw.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (field.equals(ATTRIBUTES)) {
+                allAttributes = true;
+            } else if (field.startsWith(ATTRIBUTES + ".") && field.length() > ATTRIBUTES.length() + 1) {
+                attributes.add(field.substring(ATTRIBUTES.length() + 1));
+            } else {
+                properties.add(field);
+            }
+        }
+        return new FieldSelection(properties, attributes, allAttributes);
+    }
+
+    public boolean isAll() {
+        return allAttributes && properties.size() == PROPERTIES.size();
+    }
+
+    public boolean hasAttributes() {
+        return allAttributes || !attributes.isEmpty();
+    }
+
+    /**
+     * Names of the serialised asset properties, including {@code attributes} when any is selected.
+     */
+    public Set<String> jsonProperties() {
+        var names = new LinkedHashSet<>(properties);
+        if (hasAttributes()) {
+            names.add(ATTRIBUTES);
+        }
+        return names;
+    }
+}
@@ -0,0 +1,45 @@
+package com.db.assetstore.domain.search;
+
+import com.db.assetstore.domain.model.type.AttributeType;
+import lombok.NonNull;
+
+/**
+ * Dimension an aggregate query groups by: the asset type, a core field or the value of an attribute.
+ * Assets without a value fall into a {@code null} group.
+ *
+ * @param attributeType type of the attribute, which selects the value column
+ */
+public record GroupKey(@NonNull Kind kind, AssetField field, String attribute, AttributeType attributeType) {
+
+    public enum Kind { TYPE, FIELD, ATTRIBUTE }
+
+    public GroupKey {
+        if ((kind == Kind.FIELD) != (field != null)
+                || (kind == Kind.ATTRIBUTE) != (attribute != null && attributeType != null)) {
+            throw new IllegalArgumentException("Group key of kind " + kind + " is incomplete or ambiguous");
+        }
+    }
+
+    public static GroupKey type() {
+        return new GroupKey(Kind.TYPE, null, null, null);
+    }
+
+    public static GroupKey field(AssetField field) {
+        return new GroupKey(Kind.FIELD, field, null, null);
+    }
+
+    public static GroupKey attribute(String attribute, AttributeType type) {
+        return new GroupKey(Kind.ATTRIBUTE, null, attribute, type);
+    }
+
+    /**
+     * Name of the dimension in a result row.
+     */
+    public String label() {
+        return switch (kind) {
+            case TYPE -> "type";
+            case FIELD -> field.property();
+            case ATTRIBUTE -> attribute;
+        };
+    }
+}
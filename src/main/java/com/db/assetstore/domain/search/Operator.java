@@ -1,5 +1,17 @@
 package com.db.assetstore.domain.search;
 
 public enum Operator {
-    EQ, GT, LT, LIKE
+    EQ, NE, GT, GTE, LT, LTE, BETWEEN, IN, LIKE, STARTS_WITH, IS_NULL;
+
+    /**
+     * Number of values the operator compares against; {@code -1} means one or more.
+     */
+    public int arity() {
+        return switch (this) {
+            case IS_NULL -> 0;
+            case BETWEEN -> 2;
+            case IN -> -1;
+            default -> 1;
+        };
+    }
 }
@@ -0,0 +1,71 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (sort key, id)} order of assets: a page continues strictly after it.
+ * Clients only see the opaque token produced by {@link #encode()}.
+ *
+ * @param key value of the {@link SortKey} for the last asset of a page, {@code null} when it had none
+ */
+public record PageCursor(Object key, @NonNull String id) {
+
+    private static final char SEPARATOR = ':';
+
+    public PageCursor {
+        if (key != null && tag(key) == 0) {
+            throw new IllegalArgumentException("Unsupported page cursor key: " + key.getClass().getSimpleName());
+        }
+    }
+
+    public String encode() {
+        String value = key == null ? "" : Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(key.toString().getBytes(StandardCharsets.UTF_8));
+        String raw = "" + (key == null ? '_' : tag(key)) + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(@NonNull String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int valueEnd = raw.indexOf(SEPARATOR, 2);
+            if (raw.length() < 2 || raw.charAt(1) != SEPARATOR || valueEnd < 0 || valueEnd == raw.length() - 1) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            String value = new String(Base64.getUrlDecoder().decode(raw.substring(2, valueEnd)), StandardCharsets.UTF_8);
+            return new PageCursor(key(raw.charAt(0), value), raw.substring(valueEnd + 1));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    private static char tag(Object key) {
+        if (key instanceof String) return 'S';
+        if (key instanceof BigDecimal) return 'N';
+        if (key instanceof Integer) return 'I';
+        if (key instanceof Instant) return 'T';
+        if (key instanceof Boolean) return 'B';
+        return 0;
+    }
+
+    private static Object key(char tag, String value) {
+        return switch (tag) {
+            case '_' -> null;
+            case 'S' -> value;
+            case 'N' -> new BigDecimal(value);
+            case 'I' -> Integer.valueOf(value);
+            case 'T' -> Instant.parse(value);
+            case 'B' -> Boolean.valueOf(value);
+            default -> throw new IllegalArgumentException("Invalid page cursor");
+        };
+    }
+}
@@ -7,20 +7,31 @@ import lombok.RequiredArgsConstructor;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Asset filter: an optional type plus clauses that must all hold, and the order of the results. Attribute
+ * conditions are kept apart from the other clauses (core-field conditions and {@code OR}/{@code NOT} expressions)
+ * so the query can pick the most selective attribute condition to drive it.
+ */
 @RequiredArgsConstructor
 public final class SearchCriteria {
 
     private final AssetType type;
     private final List<Condition<?>> conditions;
+    private final List<SearchExpression> expressions;
+    private final SortKey sort;
 
     public AssetType type() { return type; }
     public List<Condition<?>> conditions() { return conditions; }
+    public List<SearchExpression> expressions() { return expressions; }
+    public SortKey sort() { return sort; }
 
     public static Builder builder() { return new Builder(); }
 
     public static final class Builder {
         private AssetType type;
         private final List<Condition<?>> conditions = new ArrayList<>();
+        private final List<SearchExpression> expressions = new ArrayList<>();
+        private SortKey sort = SortKey.DEFAULT;
 
         public Builder type(AssetType type) {
             this.type = type;
@@ -32,8 +43,37 @@ public final class SearchCriteria {
             return this;
         }
 
+        public <T> Builder where(String name, Operator op, List<AttributeValue<T>> values) {
+            conditions.add(new Condition<>(name, op, values));
+            return this;
+        }
+
+        public Builder where(AssetField field, Operator op, Object... values) {
+            expressions.add(new FieldCondition(field, op, values));
+            return this;
+        }
+
+        /**
+         * Adds an expression to the conjunction; nested {@code AND} nodes are flattened into it.
+         */
+        public Builder where(SearchExpression expression) {
+            if (expression instanceof Condition<?> condition) {
+                conditions.add(condition);
+            } else if (expression instanceof SearchExpression.And and) {
+                and.operands().forEach(this::where);
+            } else if (expression != null) {
+                expressions.add(expression);
+            }
+            return this;
+        }
+
+        public Builder orderBy(SortKey sort) {
+            this.sort = sort != null ? sort : SortKey.DEFAULT;
+            return this;
+        }
+
         public SearchCriteria build() {
-            return new SearchCriteria(type, conditions);
+            return new SearchCriteria(type, List.copyOf(conditions), List.copyOf(expressions), sort);
         }
     }
 }
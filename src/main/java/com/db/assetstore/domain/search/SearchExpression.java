@@ -0,0 +1,48 @@
+package com.db.assetstore.domain.search;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Boolean filter over assets: {@link Condition} (attribute) and {@link FieldCondition} (core column) leaves
+ * combined with {@link And}, {@link Or} and {@link Not}. An attribute leaf matches an asset when one of its
+ * attribute rows satisfies the condition, except {@link Operator#IS_NULL}, which matches when the asset has no
+ * value for the attribute.
+ */
+public sealed interface SearchExpression
+        permits Condition, FieldCondition, SearchExpression.And, SearchExpression.Or, SearchExpression.Not {
+
+    static SearchExpression and(SearchExpression... operands) {
+        return new And(List.of(operands));
+    }
+
+    static SearchExpression or(SearchExpression... operands) {
+        return new Or(List.of(operands));
+    }
+
+    static SearchExpression not(SearchExpression operand) {
+        return new Not(operand);
+    }
+
+    record And(@NonNull List<SearchExpression> operands) implements SearchExpression {
+        public And {
+            if (operands.isEmpty()) {
+                throw new IllegalArgumentException("AND needs at least one operand");
+            }
+            operands = List.copyOf(operands);
+        }
+    }
+
+    record Or(@NonNull List<SearchExpression> operands) implements SearchExpression {
+        public Or {
+            if (operands.isEmpty()) {
+                throw new IllegalArgumentException("OR needs at least one operand");
+            }
+            operands = List.copyOf(operands);
+        }
+    }
+
+    record Not(@NonNull SearchExpression operand) implements SearchExpression {
+    }
+}
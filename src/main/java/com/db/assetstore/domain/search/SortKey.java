@@ -0,0 +1,46 @@
+package com.db.assetstore.domain.search;
+
+import com.db.assetstore.domain.model.type.AttributeType;
+
+/**
+ * Order of search results: a core field or an attribute value, ties broken by asset id in the same direction.
+ * Missing values sort as the smallest ones, i.e. first when ascending and last when descending.
+ *
+ * @param field         core field to sort on, {@code null} when sorting on an attribute
+ * @param attribute     attribute name to sort on, {@code null} when sorting on a field
+ * @param attributeType type of the attribute, which selects the value column
+ */
+public record SortKey(AssetField field, String attribute, AttributeType attributeType, Direction direction) {
+
+    public static final SortKey DEFAULT = by(AssetField.CREATED_AT, Direction.ASC);
+
+    public enum Direction { ASC, DESC }
+
+    public SortKey {
+        if ((field == null) == (attribute == null) || (attribute != null && attributeType == null)) {
+            throw new IllegalArgumentException("Sort key needs either a field or a typed attribute");
+        }
+        if (direction == null) {
+            direction = Direction.ASC;
+        }
+    }
+
+    public static SortKey by(AssetField field, Direction direction) {
+        return new SortKey(field, null, null, direction);
+    }
+
+    public static SortKey byAttribute(String attribute, AttributeType type, Direction direction) {
+        return new SortKey(null, attribute, type, direction);
+    }
+
+    public boolean descending() {
+        return direction == Direction.DESC;
+    }
+
+    /**
+     * Java type of the sorted values, and so of the key stored in a {@link PageCursor}.
+     */
+    public Class<?> valueType() {
+        return field != null ? field.javaType() : attributeType.getJavaType();
+    }
+}
@@ -0,0 +1,11 @@
+package com.db.assetstore.domain.service.asset;
+
+/**
+ * Raised when a create command carries the id of an asset that already exists, including a deleted one.
+ */
+public class AssetAlreadyExistsException extends RuntimeException {
+
+    public AssetAlreadyExistsException(String assetId) {
+        super("Asset already exists: " + assetId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.db.assetstore.domain.service.asset;
+
+/**
+ * Raised when a command targets an asset that does not exist or has been deleted.
+ */
+public class AssetNotFoundException extends IllegalArgumentException {
+
+    public AssetNotFoundException(String assetId) {
+        super("Asset not found: " + assetId);
+    }
+}
@@ -1,12 +1,34 @@
 package com.db.assetstore.domain.service.asset;
 
 import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.search.AssetPage;
 import com.db.assetstore.domain.search.SearchCriteria;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AssetQueryService {
     Optional<Asset> get(String id);
+
+    /**
+     * Current version of an active asset, read without loading the asset or its attributes. Empty when the asset
+     * does not exist or is deleted.
+     */
+    Optional<Long> version(String id);
+
+    /**
+     * Active assets among {@code ids}, keyed by id in the order the ids are first requested. Missing and deleted
+     * ids have no entry.
+     */
+    Map<String, Asset> getAll(Collection<String> ids);
+
     List<Asset> search(SearchCriteria criteria);
+
+    /**
+     * Returns one page of matching assets in {@code (sort key, id)} order, starting after {@code cursor}
+     * ({@code null} for the first page). The page size is capped by the server.
+     */
+    AssetPage search(SearchCriteria criteria, String cursor, Integer limit);
 }
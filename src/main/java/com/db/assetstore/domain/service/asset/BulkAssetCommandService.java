@@ -0,0 +1,37 @@
+package com.db.assetstore.domain.service.asset;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.domain.service.asset.cmd.PatchAssetCommand;
+import com.db.assetstore.domain.service.cmd.BulkItemResult;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Executes large batches of asset commands in chunks, committing each chunk in its own transaction.
+ * Chunks that committed before a failure stay committed; the failure is reported as
+ * {@link com.db.assetstore.domain.service.cmd.BulkCommandException}.
+ */
+public interface BulkAssetCommandService {
+
+    /**
+     * Creates one asset per input. {@code toCommand} builds and validates the commands on a parallel stage that
+     * runs one chunk ahead of persistence; validation errors are reported per item for the whole failing chunk.
+     */
+    <T> List<String> createAll(List<T> inputs, Function<? super T, CreateAssetCommand> toCommand);
+
+    /**
+     * Creates one chunk in a single transaction. If the chunk cannot commit, every item is retried on its own
+     * so that the failing ones are isolated; results are returned in input order and never thrown.
+     */
+    List<BulkItemResult> tryCreateAll(List<CreateAssetCommand> commands);
+
+    /**
+     * Patches assets in id order. Each chunk prefetches its targets with their attributes in one query and
+     * resolves the asset types from that prefetch; {@code toCommand} then builds the commands on the parallel stage.
+     */
+    <T> void patchAll(List<T> inputs, Function<? super T, String> assetId,
+                      BiFunction<AssetType, ? super T, PatchAssetCommand> toCommand);
+}
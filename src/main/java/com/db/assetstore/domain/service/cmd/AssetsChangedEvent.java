@@ -0,0 +1,16 @@
+package com.db.assetstore.domain.service.cmd;
+
+import lombok.NonNull;
+
+import java.util.List;
+
+/**
+ * Published by the command services for the assets a transaction modified; listeners that keep derived state
+ * observe it after commit.
+ */
+public record AssetsChangedEvent(@NonNull List<String> assetIds) {
+
+    public AssetsChangedEvent {
+        assetIds = List.copyOf(assetIds);
+    }
+}
@@ -0,0 +1,117 @@
+package com.db.assetstore.domain.service.cmd;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Raised when a chunk of a bulk command batch fails. Positions are zero-based and refer to the
+ * original batch; {@code itemIndex} is {@code -1} when the failure cannot be attributed to a single
+ * item (for example when it surfaces on commit). When several items of the chunk failed validation,
+ * each of them is listed in {@code itemErrors} and {@code itemIndex} points at the first one.
+ * {@code committedItems} lists, in ascending order, the batch positions of the items whose chunks
+ * committed before the failure; they are not a prefix of the batch when it was processed out of order.
+ */
+@Getter
+public class BulkCommandException extends RuntimeException {
+
+    public static final int UNKNOWN_ITEM = -1;
+
+    private final int chunkIndex;
+    private final int itemIndex;
+    private final List<Integer> committedItems;
+    private final List<ItemError> itemErrors;
+
+    /**
+     * Reports a failure of a batch processed in input order, where the first {@code committedCount} items committed.
+     */
+    public BulkCommandException(int chunkIndex, int itemIndex, int committedCount, Throwable cause) {
+        this(chunkIndex, IntStream.range(0, committedCount).boxed().toList(), itemIndex == UNKNOWN_ITEM
+                ? List.of()
+                : List.of(new ItemError(itemIndex, cause != null ? cause.getMessage() : null)), cause);
+    }
+
+    private BulkCommandException(int chunkIndex, List<Integer> committedItems, List<ItemError> itemErrors,
+                                 Throwable cause) {
+        super(describe(chunkIndex, committedItems, itemErrors, cause), cause);
+        this.chunkIndex = chunkIndex;
+        this.itemIndex = itemErrors.isEmpty() ? UNKNOWN_ITEM : itemErrors.get(0).itemIndex();
+        this.committedItems = List.copyOf(committedItems);
+        this.itemErrors = List.copyOf(itemErrors);
+    }
+
+    public int getCommittedCount() {
+        return committedItems.size();
+    }
+
+    /**
+     * Marks a failing item inside a chunk before the chunk position is known.
+     */
+    public static BulkCommandException forItem(int itemIndex, Throwable cause) {
+        return new BulkCommandException(0, itemIndex, 0, cause);
+    }
+
+    /**
+     * Reports every item of a chunk that failed validation; {@code firstCause} is the exception of the first one.
+     */
+    public static BulkCommandException forItems(List<ItemError> itemErrors, Throwable firstCause) {
+        return new BulkCommandException(0, List.of(), itemErrors, firstCause);
+    }
+
+    /**
+     * Re-anchors a chunk-relative failure to its position in the whole batch. Chunks are cut from the batch
+     * in processing order starting at {@code chunkOffset}; {@code toBatchIndex} maps a processing position
+     * to the item's position in the batch, for the failing items and for those of the committed chunks alike.
+     */
+    public BulkCommandException inChunk(int chunkIndex, int chunkOffset, IntUnaryOperator toBatchIndex) {
+        List<ItemError> anchored = itemErrors.stream()
+                .map(error -> new ItemError(toBatchIndex.applyAsInt(chunkOffset + error.itemIndex()), error.message()))
+                .toList();
+        List<Integer> committed = IntStream.range(0, chunkOffset).map(toBatchIndex).sorted().boxed().toList();
+        return new BulkCommandException(chunkIndex, committed, anchored, getCause());
+    }
+
+    /**
+     * Summarises the committed items as runs of batch positions, e.g. {@code "3 items committed: 0-1, 4"}.
+     */
+    public String describeCommitted() {
+        return describeCommitted(committedItems);
+    }
+
+    private static String describeCommitted(List<Integer> committedItems) {
+        if (committedItems.isEmpty()) {
+            return "0 items committed";
+        }
+        StringBuilder runs = new StringBuilder();
+        int start = 0;
+        for (int i = 1; i <= committedItems.size(); i++) {
+            if (i == committedItems.size() || committedItems.get(i) != committedItems.get(i - 1).intValue() + 1) {
+                runs.append(runs.isEmpty() ? "" : ", ").append(committedItems.get(start));
+                if (i - 1 > start) {
+                    runs.append('-').append(committedItems.get(i - 1));
+                }
+                start = i;
+            }
+        }
+        return "%d items committed: %s".formatted(committedItems.size(), runs);
+    }
+
+    private static String describe(int chunkIndex, List<Integer> committedItems, List<ItemError> itemErrors,
+                                   Throwable cause) {
+        String committed = describeCommitted(committedItems);
+        if (itemErrors.isEmpty()) {
+            String reason = cause != null ? cause.getMessage() : null;
+            return "Bulk chunk %d failed at unknown item (%s): %s".formatted(chunkIndex, committed, reason);
+        }
+        String items = itemErrors.stream()
+                .map(error -> "item %d: %s".formatted(error.itemIndex(), error.message()))
+                .collect(Collectors.joining("; "));
+        return "Bulk chunk %d failed (%s): %s".formatted(chunkIndex, committed, items);
+    }
+
+    public record ItemError(int itemIndex, String message) {
+    }
+}
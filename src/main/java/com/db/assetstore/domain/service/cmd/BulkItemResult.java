@@ -0,0 +1,19 @@
+package com.db.assetstore.domain.service.cmd;
+
+/**
+ * Outcome of a single item of a bulk batch: either the asset id it produced or the reason it failed.
+ */
+public record BulkItemResult(String id, String error) {
+
+    public static BulkItemResult created(String id) {
+        return new BulkItemResult(id, null);
+    }
+
+    public static BulkItemResult failed(String error) {
+        return new BulkItemResult(null, error);
+    }
+
+    public boolean success() {
+        return error == null;
+    }
+}
@@ -4,10 +4,16 @@ import lombok.NonNull;
 
 /**
  * Encapsulates the outcome of executing a command together with the asset identifier used for logging.
+ * A successful command that did not modify anything (for example a patch resending current values)
+ * reports {@code changed == false} and is not recorded in the command log.
  *
  * @param <T> result type produced by the command execution
  */
-public record CommandResult<T>(T result, @NonNull String assetId, boolean success) {
+public record CommandResult<T>(T result, @NonNull String assetId, boolean success, boolean changed) {
+
+    public CommandResult(T result, String assetId, boolean success) {
+        this(result, assetId, success, success);
+    }
 
     public CommandResult(T result, String assetId) {
         this(result, assetId, true);
@@ -17,7 +23,18 @@ public record CommandResult<T>(T result, @NonNull String assetId, boolean succes
         return new CommandResult<>(null, assetId, true);
     }
 
+    public static CommandResult<Void> unchanged(String assetId) {
+        return new CommandResult<>(null, assetId, true, false);
+    }
+
     public static <T> CommandResult<T> failure(String assetId) {
         return new CommandResult<>(null, assetId, false);
     }
+
+    /**
+     * True when the command succeeded and modified state, i.e. when it belongs in the command log.
+     */
+    public boolean recordable() {
+        return success && changed;
+    }
 }
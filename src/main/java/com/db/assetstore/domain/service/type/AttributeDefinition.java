@@ -4,6 +4,7 @@ import com.db.assetstore.domain.model.asset.AssetType;
 import com.db.assetstore.domain.model.type.AttributeType;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.With;
 
 @Data
 @RequiredArgsConstructor
@@ -12,6 +13,9 @@ public final class AttributeDefinition {
     private final AssetType assetType;
     private final String name;
     private final AttributeType attributeType;
+    // STRING attributes flagged for contains-style search get trigram postings in the attribute index
+    @With
+    private final boolean textSearch;
 
     public AssetType assetType() {
         return assetType;
@@ -25,4 +29,8 @@ public final class AttributeDefinition {
         return attributeType;
     }
 
+    public boolean textSearch() {
+        return textSearch;
+    }
+
 }
@@ -48,11 +48,20 @@ public class DefaultAttributeDefinitionRegistry implements AttributeDefinitionRe
         for (var loader : loaders) {
             var loaded = loader.load(type);
 
-            loaded.definitions().forEach((name, definition) -> {
+            loaded.definitions().forEach((name, loadedDefinition) -> {
+                // Text search enabled by an earlier loader survives the override; definitions are immutable,
+                // so the merged one is a copy and the loaded constraints are re-pointed at it
+                var existingDefinition = preparedDefinitions.get(name);
+                var definition = existingDefinition != null && existingDefinition.textSearch()
+                        ? loadedDefinition.withTextSearch(true)
+                        : loadedDefinition;
+
                 var loadedConstraints = loaded.constraints().get(name);
-                var constraints = loadedConstraints == null
-                        ? new ArrayList<ConstraintDefinition>()
-                        : new ArrayList<>(loadedConstraints);
+                var constraints = new ArrayList<ConstraintDefinition>();
+                if (loadedConstraints != null) {
+                    loadedConstraints.forEach(constraint -> constraints.add(
+                            new ConstraintDefinition(definition, constraint.rule(), constraint.value())));
+                }
 
                 var existingConstraints = preparedConstraints.get(name);
                 if (existingConstraints != null) {
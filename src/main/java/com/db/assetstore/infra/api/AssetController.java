@@ -1,18 +1,42 @@
 package com.db.assetstore.infra.api;
 
 import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.search.AggregateRow;
+import com.db.assetstore.domain.search.AssetPage;
+import com.db.assetstore.domain.search.FacetValue;
+import com.db.assetstore.domain.search.FieldSelection;
 import com.db.assetstore.domain.search.SearchCriteria;
 import com.db.assetstore.domain.service.asset.AssetCommandService;
 import com.db.assetstore.domain.service.asset.AssetQueryService;
+import com.db.assetstore.domain.service.asset.BulkAssetCommandService;
+import com.db.assetstore.infra.api.dto.AssetAggregateRequest;
+import com.db.assetstore.infra.api.dto.AssetBatchGetRequest;
+import com.db.assetstore.infra.api.dto.AssetBatchGetResult;
 import com.db.assetstore.infra.api.dto.AssetCreateRequest;
 import com.db.assetstore.infra.api.dto.AssetDeleteRequest;
+import com.db.assetstore.infra.api.dto.AssetFacetRequest;
 import com.db.assetstore.infra.api.dto.AssetPatchRequest;
+import com.db.assetstore.infra.api.dto.AssetSearchRequest;
 import com.db.assetstore.domain.service.asset.cmd.factory.AssetCommandFactoryRegistry;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.json.AssetFieldFilter;
+import com.db.assetstore.infra.json.reader.SearchFilterReader;
+import com.db.assetstore.infra.service.AssetAggregationService;
+import com.db.assetstore.infra.service.AssetFacetService;
+import com.db.assetstore.infra.service.AssetProjectionService;
+import com.db.assetstore.infra.service.AssetResponseCache;
+import com.db.assetstore.infra.service.AssetStreamingQueryService;
+import com.db.assetstore.infra.service.AssetTypeResolver;
+import com.db.assetstore.infra.service.bulk.NdjsonBulkIngestService;
+import com.db.assetstore.infra.service.idempotency.IdempotencyService;
+import com.fasterxml.jackson.core.type.TypeReference;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -20,91 +44,249 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/assets")
 public class AssetController {
     private static final Logger log = LoggerFactory.getLogger(AssetController.class);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String NEXT_CURSOR = "X-Next-Cursor";
     private final AssetQueryService assetQueryService;
     private final AssetCommandService commandService;
+    private final BulkAssetCommandService bulkCommandService;
+    private final NdjsonBulkIngestService ndjsonIngestService;
     private final AssetCommandFactoryRegistry commandFactoryRegistry;
+    private final IdempotencyService idempotencyService;
+    private final AssetTypeResolver assetTypeResolver;
+    private final AssetStreamingQueryService streamingQueryService;
+    private final SearchFilterReader searchFilterReader;
+    private final AssetAggregationService aggregationService;
+    private final AssetFacetService facetService;
+    private final AssetProjectionService projectionService;
+    private final AssetResponseCache responseCache;
+    private final QueryProperties queryProperties;
 
     public AssetController(AssetQueryService assetQueryService,
                            AssetCommandService commandService,
-                           AssetCommandFactoryRegistry commandFactoryRegistry) {
+                           BulkAssetCommandService bulkCommandService,
+                           NdjsonBulkIngestService ndjsonIngestService,
+                           AssetCommandFactoryRegistry commandFactoryRegistry,
+                           IdempotencyService idempotencyService,
+                           AssetTypeResolver assetTypeResolver,
+                           AssetStreamingQueryService streamingQueryService,
+                           SearchFilterReader searchFilterReader,
+                           AssetAggregationService aggregationService,
+                           AssetFacetService facetService,
+                           AssetProjectionService projectionService,
+                           AssetResponseCache responseCache,
+                           QueryProperties queryProperties) {
         this.assetQueryService = assetQueryService;
         this.commandService = commandService;
+        this.bulkCommandService = bulkCommandService;
+        this.ndjsonIngestService = ndjsonIngestService;
         this.commandFactoryRegistry = commandFactoryRegistry;
+        this.idempotencyService = idempotencyService;
+        this.assetTypeResolver = assetTypeResolver;
+        this.streamingQueryService = streamingQueryService;
+        this.searchFilterReader = searchFilterReader;
+        this.aggregationService = aggregationService;
+        this.facetService = facetService;
+        this.projectionService = projectionService;
+        this.responseCache = responseCache;
+        this.queryProperties = queryProperties;
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<String> addAsset(@RequestBody AssetCreateRequest request) {
+    public ResponseEntity<String> addAsset(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                           @RequestBody AssetCreateRequest request) {
         log.info("Creating asset");
-        String id = commandService.create(commandFactoryRegistry.createCreateCommand(request));
-        log.debug("Created asset id={}", id);
-        return ResponseEntity.ok(id);
+        return idempotencyService.execute(idempotencyKey, "POST /assets", request, new TypeReference<>() {}, () -> {
+            String id = commandService.create(commandFactoryRegistry.createCreateCommand(request));
+            log.debug("Created asset id={}", id);
+            return ResponseEntity.ok(id);
+        });
     }
 
     @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<String>> addAssetsBulk(@RequestBody List<AssetCreateRequest> requests) {
+    public ResponseEntity<List<String>> addAssetsBulk(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                      @RequestBody List<AssetCreateRequest> requests) {
         if (requests == null || requests.isEmpty()) {
             log.info("HTTP POST /assets/bulk - creating 0 assets");
             return ResponseEntity.ok(List.of());
         }
         log.info("HTTP POST /assets/bulk - creating {} assets", requests.size());
-        List<String> ids = requests.stream()
-                .map(commandFactoryRegistry::createCreateCommand)
-                .map(commandService::create)
-                .toList();
-        log.debug("Created {} assets", ids.size());
-        return ResponseEntity.ok(ids);
+        return idempotencyService.execute(idempotencyKey, "POST /assets/bulk", requests, new TypeReference<>() {}, () -> {
+            List<String> ids = bulkCommandService.createAll(requests, commandFactoryRegistry::createCreateCommand);
+            log.debug("Created {} assets", ids.size());
+            return ResponseEntity.ok(ids);
+        });
     }
 
+    // Streaming bulk ingest: one create request per line in, one {line, id|error} result per line out
+    @PostMapping(path = "/bulk/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void addAssetsStream(InputStream body, HttpServletResponse response) throws IOException {
+        log.info("HTTP POST /assets/bulk/stream - streaming ingest");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long lines = ndjsonIngestService.ingest(body, response.getOutputStream());
+        log.debug("Streamed ingest processed {} lines", lines);
+    }
+
+    // Keyset-paginated listing: the token for the next page comes back in the X-Next-Cursor header
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<List<Asset>> listAssets() {
+    public ResponseEntity<MappingJacksonValue> listAssets(@RequestParam(value = "limit", required = false) Integer limit,
+                                                          @RequestParam(value = "cursor", required = false) String cursor,
+                                                          @RequestParam(value = "fields", required = false) String fields) {
         log.info("HTTP GET /assets - listing assets");
-        SearchCriteria criteria = SearchCriteria.builder().build();
-        List<Asset> assets = assetQueryService.search(criteria);
-        log.debug("Returned {} assets", assets.size());
-        return ResponseEntity.ok(assets);
+        return page(SearchCriteria.builder().build(), cursor, limit, FieldSelection.parse(fields));
     }
 
+    // Search: the filter tree and sort are pushed down into one query, paged like the listing
+    @PostMapping(path = "/search", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<MappingJacksonValue> searchAssets(@RequestParam(value = "limit", required = false) Integer limit,
+                                                            @RequestParam(value = "cursor", required = false) String cursor,
+                                                            @RequestParam(value = "fields", required = false) String fields,
+                                                            @RequestBody AssetSearchRequest request) {
+        log.info("HTTP POST /assets/search - searching assets");
+        return page(searchFilterReader.read(request.type(), request.filter(), request.sort()), cursor, limit,
+                FieldSelection.parse(fields));
+    }
+
+    // Streaming search for large results: the same filter and sort as /search, written as one JSON array row by
+    // row from a database cursor instead of a materialised page; {} exports every asset
+    @PostMapping(path = "/search/stream", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE)
+    public void streamSearchAssets(@RequestBody AssetSearchRequest request,
+                                   HttpServletResponse response) throws IOException {
+        log.info("HTTP POST /assets/search/stream - streaming assets");
+        SearchCriteria criteria = searchFilterReader.read(request.type(), request.filter(), request.sort());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        long written = streamingQueryService.writeJsonArray(criteria, response.getOutputStream());
+        log.debug("Streamed {} assets", written);
+    }
+
+    // Aggregates: counts and numeric metrics computed in SQL, optionally grouped; only the grouped rows are returned
+    @PostMapping(path = "/aggregate", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AggregateRow>> aggregateAssets(@RequestBody AssetAggregateRequest request) {
+        log.info("HTTP POST /assets/aggregate - aggregating assets");
+        var query = searchFilterReader.readAggregate(request.type(), request.filter(), request.groupBy(), request.metrics());
+        List<AggregateRow> rows = aggregationService.aggregate(query);
+        log.debug("Returned {} aggregate rows", rows.size());
+        return ResponseEntity.ok(rows);
+    }
+
+    // Facets: the most frequent (optionally bucketed) values of each attribute with their counts, for filter panels
+    @PostMapping(path = "/facets", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, List<FacetValue>>> facetAssets(@RequestBody AssetFacetRequest request) {
+        log.info("HTTP POST /assets/facets - counting facet values");
+        var query = searchFilterReader.readFacets(request.type(), request.filter(), request.facets(), request.size());
+        return ResponseEntity.ok(facetService.facets(query));
+    }
+
+    // Multi-get: one result per requested id in request order, with NOT_FOUND for missing or deleted ids.
+    // The whole array is built in memory, so it is capped like a page; larger sets use the NDJSON variant
+    @PostMapping(path = "/batch-get", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<AssetBatchGetResult>> batchGetAssets(@RequestBody AssetBatchGetRequest request) {
+        List<String> ids = batchGetIds(request);
+        if (ids.size() > queryProperties.maxPageSize()) {
+            throw new IllegalArgumentException("batch-get returns at most %d ids as a JSON array; request %s to stream more"
+                    .formatted(queryProperties.maxPageSize(), MediaType.APPLICATION_NDJSON_VALUE));
+        }
+        log.info("HTTP POST /assets/batch-get - reading {} assets", ids.size());
+        Map<String, Asset> assets = assetQueryService.getAll(ids);
+        log.debug("Found {} of {} requested assets", assets.size(), ids.size());
+        return ResponseEntity.ok(ids.stream().map(id -> AssetBatchGetResult.of(id, assets.get(id))).toList());
+    }
+
+    // Streaming multi-get for large id sets: the same results as newline-delimited JSON, written chunk by chunk
+    @PostMapping(path = "/batch-get", consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void streamBatchGetAssets(@RequestBody AssetBatchGetRequest request,
+                                     HttpServletResponse response) throws IOException {
+        List<String> ids = batchGetIds(request);
+        log.info("HTTP POST /assets/batch-get - streaming {} assets", ids.size());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        long found = streamingQueryService.writeBatchGet(ids, response.getOutputStream());
+        log.debug("Streamed {} of {} requested assets", found, ids.size());
+    }
+
+    // Conditional GET: the ETag is the asset version, read by a projection query before anything else is loaded.
+    // Full assets are written from the serialised response cache; sparse fieldsets (fields=id,status,attributes.city)
+    // read and write only those columns and attributes
     @GetMapping(path = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Asset> getAsset(@PathVariable("id") String id) {
-        return assetQueryService.get(id)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<?> getAsset(@PathVariable("id") String id,
+                                      @RequestParam(value = "fields", required = false) String fields,
+                                      WebRequest webRequest) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        Optional<Long> version = assetQueryService.version(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = String.valueOf(version.get());
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (selection.isAll()) {
+            return responseCache.get(id, version.get())
+                    .<ResponseEntity<?>>map(cached -> ResponseEntity.ok()
+                            .eTag(String.valueOf(cached.version()))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(cached.json()))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        }
+        // A write after the version read leaves an older ETag on a newer body, which only costs a later re-download
+        return projectionService.get(id, selection)
+                .<ResponseEntity<?>>map(found -> ResponseEntity.ok().eTag(etag).body(project(found, selection)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     // Unified asset update: updates both common fields and type-specific attributes
     @PutMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> updateAsset(@PathVariable("id") String id, @RequestBody AssetPatchRequest request) {
+    public ResponseEntity<Void> updateAsset(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                            @PathVariable("id") String id, @RequestBody AssetPatchRequest request) {
         log.info("HTTP PUT /assets/{} - updating asset", id);
-        applyPatch(id, request);
-        return ResponseEntity.noContent().build();
+        return idempotencyService.execute(idempotencyKey, "PUT /assets/" + id, request, new TypeReference<>() {}, () -> {
+            applyPatch(id, request);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     @PatchMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> patchAsset(@PathVariable("id") String id, @RequestBody AssetPatchRequest request) {
+    public ResponseEntity<Void> patchAsset(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                           @PathVariable("id") String id, @RequestBody AssetPatchRequest request) {
         log.info("HTTP PATCH /assets/{} - patch asset", id);
-        applyPatch(id, request);
-        return ResponseEntity.noContent().build();
+        return idempotencyService.execute(idempotencyKey, "PATCH /assets/" + id, request, new TypeReference<>() {}, () -> {
+            applyPatch(id, request);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     @PatchMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> patchAssetsBulk(@RequestBody List<AssetPatchRequest> requests) {
+    public ResponseEntity<Void> patchAssetsBulk(@RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                                @RequestBody List<AssetPatchRequest> requests) {
         if (requests == null || requests.isEmpty()) {
             log.info("HTTP PATCH /assets/bulk - patch 0 assets");
             return ResponseEntity.noContent().build();
         }
         log.info("HTTP PATCH /assets/bulk - patch {} assets", requests.size());
-        requests.forEach(item -> applyPatch(item.getId(), item));
-        return ResponseEntity.noContent().build();
+        return idempotencyService.execute(idempotencyKey, "PATCH /assets/bulk", requests, new TypeReference<>() {}, () -> {
+            bulkCommandService.patchAll(requests, AssetPatchRequest::getId,
+                    commandFactoryRegistry::createPatchCommand);
+            return ResponseEntity.noContent().build();
+        });
     }
 
     @DeleteMapping(path = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -116,10 +298,41 @@ public class AssetController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<MappingJacksonValue> page(SearchCriteria criteria, String cursor, Integer limit,
+                                                     FieldSelection fields) {
+        AssetPage page = fields.isAll()
+                ? assetQueryService.search(criteria, cursor, limit)
+                : projectionService.search(criteria, cursor, limit, fields);
+        log.debug("Returned {} assets", page.items().size());
+        var response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            response.header(NEXT_CURSOR, page.nextCursor());
+        }
+        return response.body(project(page.items(), fields));
+    }
+
+    private static MappingJacksonValue project(Object body, FieldSelection fields) {
+        var value = new MappingJacksonValue(body);
+        if (!fields.isAll()) {
+            value.setFilters(AssetFieldFilter.only(fields));
+        }
+        return value;
+    }
+
+    private static List<String> batchGetIds(AssetBatchGetRequest request) {
+        if (request == null || request.ids() == null) {
+            return List.of();
+        }
+        if (request.ids().stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("ids must not contain null");
+        }
+        return request.ids();
+    }
+
     private void applyPatch(String id, AssetPatchRequest request) {
-        var current = assetQueryService.get(id)
+        var type = assetTypeResolver.resolve(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Asset %s not found".formatted(id)));
-        var cmd = commandFactoryRegistry.createPatchCommand(current.getType(), id, request);
+        var cmd = commandFactoryRegistry.createPatchCommand(type, id, request);
         commandService.update(cmd);
     }
 }
@@ -1,6 +1,5 @@
 package com.db.assetstore.infra.api;
 
-import com.db.assetstore.domain.model.asset.Asset;
 import com.db.assetstore.domain.model.link.AssetLink;
 import com.db.assetstore.domain.service.asset.AssetQueryService;
 import com.db.assetstore.domain.service.link.AssetLinkQueryService;
@@ -15,7 +14,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/assets/{assetId}/links")
@@ -36,8 +34,8 @@ public class AssetLinkController {
     public ResponseEntity<List<AssetLink>> listAssetLinks(@PathVariable("assetId") String assetId,
                                                           @RequestParam(value = "includeInactive", defaultValue = "false") boolean includeInactive) {
         log.info("HTTP GET /assets/{}/links - listing asset links", assetId);
-        Optional<Asset> asset = assetQueryService.get(assetId);
-        if (asset.isEmpty()) {
+        // Links change without touching the asset version, so only the existence check uses the version query
+        if (assetQueryService.version(assetId).isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
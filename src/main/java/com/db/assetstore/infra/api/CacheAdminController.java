@@ -0,0 +1,28 @@
+package com.db.assetstore.infra.api;
+
+import com.db.assetstore.infra.cache.CacheStats;
+import com.db.assetstore.infra.service.AssetResponseCache;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/caches")
+public class CacheAdminController {
+
+    private final AssetResponseCache assetResponseCache;
+
+    public CacheAdminController(AssetResponseCache assetResponseCache) {
+        this.assetResponseCache = assetResponseCache;
+    }
+
+    // Hit, miss and eviction counters of the in-process caches, keyed by cache name
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, CacheStats>> cacheStats() {
+        return ResponseEntity.ok(Map.of("assetResponses", assetResponseCache.stats()));
+    }
+}
@@ -6,6 +6,7 @@ import com.db.assetstore.domain.service.EventService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Optional;
 
@@ -31,19 +33,32 @@ public class EventController {
         this.eventService = eventService;
     }
 
+    // The event carries its generation time, so the ETag on the asset version is weak: equivalent, not identical
     @GetMapping(path = "/{assetId}/{eventName}", produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<String> generateEvent(@PathVariable("assetId") String assetId,
-                                                @PathVariable("eventName") String eventName) {
+                                                @PathVariable("eventName") String eventName,
+                                                WebRequest webRequest) {
         log.info("HTTP GET /events/{}/{} - generating event", assetId, eventName);
-        Optional<Asset> assetOpt = assetQueryService.get(assetId);
+        Optional<Long> version = assetQueryService.version(assetId);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = "W/\"" + version.get() + "\"";
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
 
+        Optional<Asset> assetOpt = assetQueryService.get(assetId);
         if (assetOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
 
         try {
             var json = eventService.generate(eventName, assetOpt.get());
-            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(json);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(json);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
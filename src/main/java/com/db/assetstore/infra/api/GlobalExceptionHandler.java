@@ -1,7 +1,14 @@
 package com.db.assetstore.infra.api;
 
+import com.db.assetstore.domain.service.asset.AssetAlreadyExistsException;
+import com.db.assetstore.domain.service.asset.AssetNotFoundException;
+import com.db.assetstore.domain.service.cmd.BulkCommandException;
+import com.db.assetstore.domain.service.validation.rule.AttributeValidationException;
+import com.db.assetstore.infra.json.reader.AttributeParsingException;
+import com.db.assetstore.infra.service.idempotency.IdempotencyConflictException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -18,14 +25,75 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
-    @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex, WebRequest request) {
+    @ExceptionHandler({IllegalArgumentException.class, AttributeParsingException.class})
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(RuntimeException ex, WebRequest request) {
         String path = request.getDescription(false).replace("uri=", "");
         log.warn("400 Bad Request at {}: {}", path, ex.getMessage());
         ErrorResponse body = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), "Bad Request", ex.getMessage(), path);
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(AssetNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAssetNotFound(AssetNotFoundException ex, WebRequest request) {
+        String path = request.getDescription(false).replace("uri=", "");
+        log.warn("404 Not Found at {}: {}", path, ex.getMessage());
+        ErrorResponse body = new ErrorResponse(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), path);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    @ExceptionHandler({AssetAlreadyExistsException.class, DataIntegrityViolationException.class})
+    public ResponseEntity<ErrorResponse> handleConflict(RuntimeException ex, WebRequest request) {
+        String path = request.getDescription(false).replace("uri=", "");
+        log.warn("409 Conflict at {}: {}", path, ex.getMessage());
+        String message = ex instanceof AssetAlreadyExistsException ? ex.getMessage() : "Request conflicts with stored data";
+        ErrorResponse body = new ErrorResponse(HttpStatus.CONFLICT.value(), "Conflict", message, path);
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    @ExceptionHandler(BulkCommandException.class)
+    public ResponseEntity<ErrorResponse> handleBulkCommand(BulkCommandException ex, WebRequest request) {
+        String path = request.getDescription(false).replace("uri=", "");
+        HttpStatus status = bulkStatus(ex.getCause());
+        String message;
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("500 Bulk failure at {}: {}", path, ex.getMessage(), ex);
+            message = "Chunk %d failed at %s; %s".formatted(ex.getChunkIndex(),
+                    ex.getItemIndex() == BulkCommandException.UNKNOWN_ITEM ? "unknown item" : "item " + ex.getItemIndex(),
+                    ex.describeCommitted());
+        } else {
+            log.warn("{} Bulk failure at {}: {}", status.value(), path, ex.getMessage());
+            message = ex.getMessage();
+        }
+        ErrorResponse body = new ErrorResponse(status.value(), status.getReasonPhrase(), message, path);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(IdempotencyConflictException ex, WebRequest request) {
+        String path = request.getDescription(false).replace("uri=", "");
+        HttpStatus status = ex.getReason() == IdempotencyConflictException.Reason.KEY_REUSED
+                ? HttpStatus.UNPROCESSABLE_ENTITY
+                : HttpStatus.CONFLICT;
+        log.warn("{} Idempotency conflict at {}: {}", status.value(), path, ex.getMessage());
+        ErrorResponse body = new ErrorResponse(status.value(), status.getReasonPhrase(), ex.getMessage(), path);
+        return ResponseEntity.status(status).body(body);
+    }
+
+    private static HttpStatus bulkStatus(Throwable cause) {
+        if (cause instanceof AssetNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (cause instanceof IllegalArgumentException
+                || cause instanceof AttributeValidationException
+                || cause instanceof AttributeParsingException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (cause instanceof AssetAlreadyExistsException || cause instanceof DataIntegrityViolationException) {
+            return HttpStatus.CONFLICT;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneric(Exception ex, WebRequest request) {
         String path = request.getDescription(false).replace("uri=", "");
@@ -0,0 +1,16 @@
+package com.db.assetstore.infra.api.dto;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * HTTP-layer DTO for aggregate queries. {@code filter} has the shape of {@link AssetSearchRequest#filter()};
+ * {@code groupBy} is a list of {@code {"field": "type"|name}} or {@code {"attribute": name}} nodes and
+ * {@code metrics} a list of {@code {"function": "COUNT"|"SUM"|"MIN"|"MAX"|"AVG", "field"|"attribute": name}}.
+ */
+public record AssetAggregateRequest(
+        AssetType type,
+        JsonNode filter,
+        JsonNode groupBy,
+        JsonNode metrics
+) {}
@@ -0,0 +1,9 @@
+package com.db.assetstore.infra.api.dto;
+
+import java.util.List;
+
+/**
+ * HTTP-layer DTO for {@code POST /assets/batch-get}: the ids to read, answered in this order.
+ */
+public record AssetBatchGetRequest(List<String> ids) {
+}
@@ -0,0 +1,17 @@
+package com.db.assetstore.infra.api.dto;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One entry of a batch get response: the requested id and either the asset or the {@code NOT_FOUND} error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AssetBatchGetResult(String id, Asset asset, String error) {
+
+    public static final String NOT_FOUND = "NOT_FOUND";
+
+    public static AssetBatchGetResult of(String id, Asset asset) {
+        return asset != null ? new AssetBatchGetResult(id, asset, null) : new AssetBatchGetResult(id, null, NOT_FOUND);
+    }
+}
@@ -0,0 +1,16 @@
+package com.db.assetstore.infra.api.dto;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * HTTP-layer DTO for facet counts. {@code filter} has the shape of {@link AssetSearchRequest#filter()};
+ * {@code facets} is a list of {@code {"attribute": name, "bucket": width|"DAYS"|"MONTHS"|"YEARS"}} nodes, the
+ * bucket being optional, and {@code size} the number of values kept per attribute.
+ */
+public record AssetFacetRequest(
+        AssetType type,
+        JsonNode filter,
+        JsonNode facets,
+        Integer size
+) {}
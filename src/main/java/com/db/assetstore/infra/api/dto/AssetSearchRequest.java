@@ -0,0 +1,16 @@
+package com.db.assetstore.infra.api.dto;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * HTTP-layer DTO for asset searches. {@code filter} is a tree of
+ * {@code {"and"|"or": [...]}}, {@code {"not": {...}}} and
+ * {@code {"attribute"|"field": name, "op": operator, "value": v | "values": [...]}} nodes;
+ * {@code sort} is {@code {"attribute"|"field": name, "direction": "ASC"|"DESC"}}.
+ */
+public record AssetSearchRequest(
+        AssetType type,
+        JsonNode filter,
+        JsonNode sort
+) {}
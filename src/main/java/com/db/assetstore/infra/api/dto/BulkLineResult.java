@@ -0,0 +1,7 @@
+package com.db.assetstore.infra.api.dto;
+
+/**
+ * One line of a streamed bulk response: the 1-based input line and either the created id or the error.
+ */
+public record BulkLineResult(long line, String id, String error) {
+}
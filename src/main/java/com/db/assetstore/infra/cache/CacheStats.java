@@ -0,0 +1,12 @@
+package com.db.assetstore.infra.cache;
+
+/**
+ * Point-in-time counters of an in-process cache, as reported by {@code GET /admin/caches}.
+ *
+ * @param hits      lookups answered from the cache
+ * @param misses    lookups that had to load the value
+ * @param evictions entries dropped to stay within the maximum size
+ * @param size      entries currently held
+ */
+public record CacheStats(long hits, long misses, long evictions, int size) {
+}
@@ -0,0 +1,83 @@
+package com.db.assetstore.infra.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Small thread-safe LRU cache with a per-entry time to live. Meant for in-process front caches in front of
+ * a table or a query, so it favours simplicity (a single lock) over concurrency.
+ */
+public class LruCache<K, V> {
+
+    private final int maxSize;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private long evictions;
+
+    public LruCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public LruCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized Optional<V> get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt().isBefore(clock.instant())) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, clock.instant().plus(ttl)));
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Number of entries dropped so far to stay within the maximum size; expired and invalidated entries are not
+     * counted.
+     */
+    public synchronized long evictions() {
+        return evictions;
+    }
+
+    private record Entry<V>(V value, Instant expiresAt) {
+    }
+}
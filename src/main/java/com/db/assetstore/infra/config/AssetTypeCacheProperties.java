@@ -0,0 +1,24 @@
+package com.db.assetstore.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the id to asset type cache used to route patches.
+ *
+ * @param size maximum number of cached asset ids
+ * @param ttl  how long a resolved type is kept
+ */
+@ConfigurationProperties(prefix = "assetstore.type-cache")
+public record AssetTypeCacheProperties(Integer size, Duration ttl) {
+
+    public AssetTypeCacheProperties {
+        if (size == null) {
+            size = 100_000;
+        }
+        if (ttl == null) {
+            ttl = Duration.ofHours(1);
+        }
+    }
+}
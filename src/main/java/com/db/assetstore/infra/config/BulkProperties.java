@@ -0,0 +1,31 @@
+package com.db.assetstore.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Tuning for bulk command execution.
+ *
+ * @param chunkSize   number of commands committed per transaction
+ * @param parallelism worker threads used to parse and validate bulk items ahead of persistence;
+ *                    defaults to the number of available processors
+ */
+@ConfigurationProperties(prefix = "assetstore.bulk")
+public record BulkProperties(Integer chunkSize, Integer parallelism) {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    public BulkProperties {
+        if (chunkSize == null) {
+            chunkSize = DEFAULT_CHUNK_SIZE;
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("assetstore.bulk.chunk-size must be positive");
+        }
+        if (parallelism == null) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("assetstore.bulk.parallelism must be positive");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.db.assetstore.infra.config;
+
+import com.db.assetstore.infra.jpa.PayloadCodec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Payload encoding for the command log.
+ *
+ * @param codec            codec used for new rows; {@link PayloadCodec#COMPACT} also enables compression
+ * @param deflateThreshold compact payloads of at least this many bytes are Deflate-compressed
+ */
+@ConfigurationProperties(prefix = "assetstore.command-log")
+public record CommandLogProperties(PayloadCodec codec, Integer deflateThreshold) {
+
+    public static final int DEFAULT_DEFLATE_THRESHOLD = 512;
+
+    public CommandLogProperties {
+        if (codec == null) {
+            codec = PayloadCodec.COMPACT;
+        }
+        if (codec == PayloadCodec.COMPACT_DEFLATE) {
+            throw new IllegalArgumentException("assetstore.command-log.codec must be JSON or COMPACT");
+        }
+        if (deflateThreshold == null) {
+            deflateThreshold = DEFAULT_DEFLATE_THRESHOLD;
+        }
+    }
+}
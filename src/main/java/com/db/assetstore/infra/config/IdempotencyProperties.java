@@ -0,0 +1,29 @@
+package com.db.assetstore.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Retention of {@code Idempotency-Key} results.
+ *
+ * @param ttl             how long a processed key is replayed before it may be reused
+ * @param cacheSize       maximum number of completed keys kept in the in-memory front cache
+ * @param inProgressLease how long a key stays reserved by a request that has not finished, so a key held by a
+ *                        crashed instance frees up quickly; must exceed the longest request
+ */
+@ConfigurationProperties(prefix = "assetstore.idempotency")
+public record IdempotencyProperties(Duration ttl, Integer cacheSize, Duration inProgressLease) {
+
+    public IdempotencyProperties {
+        if (ttl == null) {
+            ttl = Duration.ofHours(24);
+        }
+        if (inProgressLease == null) {
+            inProgressLease = Duration.ofMinutes(15);
+        }
+        if (cacheSize == null) {
+            cacheSize = 10_000;
+        }
+    }
+}
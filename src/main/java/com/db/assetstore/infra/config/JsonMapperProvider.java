@@ -1,6 +1,8 @@
 package com.db.assetstore.infra.config;
 
+import com.db.assetstore.domain.model.asset.Asset;
 import com.db.assetstore.domain.model.attribute.AttributesCollection;
+import com.db.assetstore.infra.json.AssetFieldFilter;
 import com.db.assetstore.infra.json.AttributesCollectionSerializer;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -45,6 +47,8 @@ public class JsonMapperProvider {
                 .addModule(new JavaTimeModule())
                 .addModule(new Jdk8Module())
                 .addModule(serializers)
+                .addMixIn(Asset.class, AssetFieldFilter.Mixin.class)
+                .filterProvider(AssetFieldFilter.all())
                 .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
                 .enable(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS)
                 .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
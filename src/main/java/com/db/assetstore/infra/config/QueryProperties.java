@@ -0,0 +1,48 @@
+package com.db.assetstore.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Paging limits for asset listing and search, and the size limit of aggregate results.
+ *
+ * @param defaultPageSize page size used when a request does not ask for one
+ * @param maxPageSize     upper bound on the page size; larger requests are clamped to it. Also the most ids a
+ *                        batch get answers as one JSON array
+ * @param streamBatchSize rows fetched per round trip by streaming reads, and rows after which their
+ *                        persistence context is cleared; also the number of ids per query of a batch get
+ * @param maxGroups       most rows an aggregate query may return; finer groupings are rejected
+ */
+@ConfigurationProperties(prefix = "assetstore.query")
+public record QueryProperties(Integer defaultPageSize, Integer maxPageSize, Integer streamBatchSize, Integer maxGroups) {
+
+    public QueryProperties {
+        if (maxPageSize == null) {
+            maxPageSize = 500;
+        }
+        if (defaultPageSize == null) {
+            defaultPageSize = Math.min(100, maxPageSize);
+        }
+        if (streamBatchSize == null) {
+            streamBatchSize = 500;
+        }
+        if (maxGroups == null) {
+            maxGroups = 1000;
+        }
+        if (defaultPageSize < 1 || maxPageSize < 1 || streamBatchSize < 1 || maxGroups < 1) {
+            throw new IllegalArgumentException("assetstore.query sizes must be positive");
+        }
+    }
+
+    /**
+     * Resolves the page size of a request: the default when absent, clamped to {@link #maxPageSize()}.
+     */
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
@@ -0,0 +1,24 @@
+package com.db.assetstore.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing of the cache of serialised {@code GET /assets/{id}} responses.
+ *
+ * @param size maximum number of cached assets
+ * @param ttl  how long a serialised asset is kept when it is not changed
+ */
+@ConfigurationProperties(prefix = "assetstore.response-cache")
+public record ResponseCacheProperties(Integer size, Duration ttl) {
+
+    public ResponseCacheProperties {
+        if (size == null) {
+            size = 10_000;
+        }
+        if (ttl == null) {
+            ttl = Duration.ofMinutes(10);
+        }
+    }
+}
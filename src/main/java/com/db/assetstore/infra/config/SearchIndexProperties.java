@@ -0,0 +1,26 @@
+package com.db.assetstore.infra.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Optional in-memory attribute index that answers search conditions before SQL.
+ *
+ * @param enabled       whether the index is built at startup and consulted by searches
+ * @param maxCandidates most asset ids the index may hand to the database as an id filter; broader matches
+ *                      fall back to the SQL attribute predicates
+ */
+@ConfigurationProperties(prefix = "assetstore.search.index")
+public record SearchIndexProperties(Boolean enabled, Integer maxCandidates) {
+
+    public SearchIndexProperties {
+        if (enabled == null) {
+            enabled = false;
+        }
+        if (maxCandidates == null) {
+            maxCandidates = 10_000;
+        }
+        if (maxCandidates < 1) {
+            throw new IllegalArgumentException("assetstore.search.index.max-candidates must be positive");
+        }
+    }
+}
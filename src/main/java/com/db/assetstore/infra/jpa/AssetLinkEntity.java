@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,7 +25,8 @@ import java.time.Instant;
 public class AssetLinkEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_link_seq")
+    @SequenceGenerator(name = "asset_link_seq", sequenceName = "asset_link_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "asset_id", length = 36, nullable = false)
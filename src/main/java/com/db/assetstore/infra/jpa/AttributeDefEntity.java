@@ -42,6 +42,9 @@ public class AttributeDefEntity {
     @Column(name = "required", nullable = false)
     private boolean required = false;
 
+    @Column(name = "text_search", nullable = false)
+    private boolean textSearch = false;
+
     @OneToMany(mappedBy = "attributeDefinition", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ConstraintDefEntity> constraints = new ArrayList<>();
 
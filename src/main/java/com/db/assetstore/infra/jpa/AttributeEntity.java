@@ -15,19 +15,24 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
+@DynamicUpdate
 @Table(name = "asset_attribute", uniqueConstraints = {
         @UniqueConstraint(name = "uk_asset_attr_unique", columnNames = {"asset_id", "name"})
 })
@@ -37,7 +42,8 @@ import java.util.List;
 @Slf4j
 public class AttributeEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "asset_attribute_seq")
+    @SequenceGenerator(name = "asset_attribute_seq", sequenceName = "asset_attribute_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +60,11 @@ public class AttributeEntity {
     @Column(name = "value_str", length = 1024)
     private String valueStr;
 
+    // Lower-cased copy of valueStr kept in step by setValueStr, so case-insensitive searches can use an index
+    @Setter(AccessLevel.NONE)
+    @Column(name = "value_str_norm", length = 1024)
+    private String valueStrNorm;
+
     @Column(name = "value_bool")
     private Boolean valueBool;
 
@@ -74,7 +85,7 @@ public class AttributeEntity {
         this.name=n;
         this.updatedAt=when;
         this.valueType=AttributeType.STRING;
-        this.valueStr=v;
+        setValueStr(v);
     }
 
     public AttributeEntity(AssetEntity a, String n, BigDecimal v, Instant when) {
@@ -101,6 +112,15 @@ public class AttributeEntity {
         this.valueDate=v;
     }
 
+    public void setValueStr(String valueStr) {
+        this.valueStr = valueStr;
+        this.valueStrNorm = normalize(valueStr);
+    }
+
+    public static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
     public void addHistory(Instant when) {
         if (log.isDebugEnabled()) {
             String assetId = asset != null ? asset.getId() : null;
@@ -2,10 +2,13 @@ package com.db.assetstore.infra.jpa;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -25,7 +28,8 @@ import java.time.Instant;
 public class CommandLogEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "command_log_seq")
+    @SequenceGenerator(name = "command_log_seq", sequenceName = "command_log_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "command_type", length = 64, nullable = false)
@@ -34,10 +38,18 @@ public class CommandLogEntity {
     @Column(name = "asset_id", length = 64)
     private String assetId;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "codec", length = 16, nullable = false)
+    private PayloadCodec codec;
+
     @Lob
-    @Column(name = "payload", nullable = false)
+    @Column(name = "payload")
     private String payload;
 
+    @Lob
+    @Column(name = "payload_bin")
+    private byte[] payloadBin;
+
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
 }
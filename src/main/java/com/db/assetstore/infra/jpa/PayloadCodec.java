@@ -0,0 +1,13 @@
+package com.db.assetstore.infra.jpa;
+
+/**
+ * Encoding of a {@code command_log} payload.
+ */
+public enum PayloadCodec {
+    /** Plain Jackson JSON in {@code payload}; every row written before codecs existed. */
+    JSON,
+    /** JSON with field names shortened through the per-command-type dictionary, in {@code payload}. */
+    COMPACT,
+    /** {@link #COMPACT} bytes compressed with Deflate, in {@code payload_bin}. */
+    COMPACT_DEFLATE
+}
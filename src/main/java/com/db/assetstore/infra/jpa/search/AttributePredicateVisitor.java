@@ -1,7 +1,9 @@
 package com.db.assetstore.infra.jpa.search;
 
+import com.db.assetstore.domain.model.attribute.AttributeValue;
 import com.db.assetstore.domain.model.attribute.AttributeValueVisitor;
 import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Operator;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.From;
 import jakarta.persistence.criteria.Path;
@@ -9,27 +11,43 @@ import jakarta.persistence.criteria.Predicate;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * Domain-level builder that converts an attribute Condition into a JPA Criteria Predicate
  * without depending on infra entities. It assumes the attribute value columns are named
- * valueStr, valueNum and valueBool on the joined attribute path.
+ * valueStr, valueStrNorm, valueNum, valueBool and valueDate on the joined attribute path.
+ * String comparisons use the pre-lowered valueStrNorm column instead of lower(valueStr), so
+ * together with the attribute name they can be served by the (name, value_*) indexes;
+ * STARTS_WITH stays index-friendly because its pattern is anchored at the start.
  */
 public final class AttributePredicateVisitor {
 
+    private static final char LIKE_ESCAPE = '\\';
+
     private AttributePredicateVisitor() {}
 
     public static <T> Predicate build(CriteriaBuilder cb, From<?, ?> attr, Condition<T> cond) {
         var op = cond.operator();
+        if (op == Operator.IS_NULL) {
+            return cb.not(hasValue(cb, attr));
+        }
 
         AttributeValueVisitor<Predicate> v = new AttributeValueVisitor<>() {
             @Override
             public Predicate visitString(String s, String name) {
-                Path<String> p = attr.get("valueStr");
+                Path<String> p = attr.get("valueStrNorm");
                 return switch (op) {
-                    case EQ   -> (s == null) ? cb.isNull(p) : cb.equal(cb.lower(p), s.toLowerCase());
-                    case LIKE -> (s == null) ? unsupported("LIKE on null STRING") : cb.like(cb.lower(p), ensureLikePattern(s));
-                    case GT, LT -> unsupported("STRING");
+                    case EQ   -> (s == null) ? cb.isNull(attr.get("valueStr")) : cb.equal(p, normalize(s));
+                    case NE   -> (s == null) ? cb.isNotNull(attr.get("valueStr")) : cb.notEqual(p, normalize(s));
+                    case IN   -> p.in(values(cond, String.class).stream().map(AttributePredicateVisitor::normalize).toList());
+                    case LIKE -> (s == null) ? unsupported("LIKE on null STRING") : cb.like(p, ensureLikePattern(s));
+                    case STARTS_WITH -> (s == null)
+                            ? unsupported("STARTS_WITH on null STRING")
+                            : cb.like(p, escapeLike(normalize(s)) + "%", LIKE_ESCAPE);
+                    case GT, GTE, LT, LTE, BETWEEN, IS_NULL -> unsupported("STRING");
                 };
             }
 
@@ -38,9 +56,14 @@ public final class AttributePredicateVisitor {
                 Path<BigDecimal> p = attr.get("valueNum");
                 return switch (op) {
                     case EQ -> (num == null) ? cb.isNull(p) : cb.equal(p, num);
+                    case NE -> (num == null) ? cb.isNotNull(p) : cb.notEqual(p, num);
                     case GT -> (num == null) ? unsupported("GT on null DECIMAL") : cb.greaterThan(p, num);
+                    case GTE -> (num == null) ? unsupported("GTE on null DECIMAL") : cb.greaterThanOrEqualTo(p, num);
                     case LT -> (num == null) ? unsupported("LT on null DECIMAL") : cb.lessThan(p, num);
-                    case LIKE -> unsupported("LIKE on DECIMAL");
+                    case LTE -> (num == null) ? unsupported("LTE on null DECIMAL") : cb.lessThanOrEqualTo(p, num);
+                    case BETWEEN -> between(p, values(cond, BigDecimal.class));
+                    case IN -> p.in(values(cond, BigDecimal.class));
+                    case LIKE, STARTS_WITH, IS_NULL -> unsupported(op + " on DECIMAL");
                 };
             }
 
@@ -49,7 +72,9 @@ public final class AttributePredicateVisitor {
                 Path<Boolean> p = attr.get("valueBool");
                 return switch (op) {
                     case EQ -> (b == null) ? cb.isNull(p) : cb.equal(p, b);
-                    case GT, LT, LIKE -> unsupported("BOOLEAN");
+                    case NE -> (b == null) ? cb.isNotNull(p) : cb.notEqual(p, b);
+                    case IN -> p.in(values(cond, Boolean.class));
+                    case GT, GTE, LT, LTE, BETWEEN, LIKE, STARTS_WITH, IS_NULL -> unsupported("BOOLEAN");
                 };
             }
 
@@ -58,12 +83,21 @@ public final class AttributePredicateVisitor {
                 Path<Instant> p = attr.get("valueDate");
                 return switch (op) {
                     case EQ -> (d == null) ? cb.isNull(p) : cb.equal(p, d);
+                    case NE -> (d == null) ? cb.isNotNull(p) : cb.notEqual(p, d);
                     case GT -> (d == null) ? unsupported("GT on null DATE") : cb.greaterThan(p, d);
+                    case GTE -> (d == null) ? unsupported("GTE on null DATE") : cb.greaterThanOrEqualTo(p, d);
                     case LT -> (d == null) ? unsupported("LT on null DATE") : cb.lessThan(p, d);
-                    case LIKE -> unsupported("LIKE on DATE");
+                    case LTE -> (d == null) ? unsupported("LTE on null DATE") : cb.lessThanOrEqualTo(p, d);
+                    case BETWEEN -> between(p, values(cond, Instant.class));
+                    case IN -> p.in(values(cond, Instant.class));
+                    case LIKE, STARTS_WITH, IS_NULL -> unsupported(op + " on DATE");
                 };
             }
 
+            private <Y extends Comparable<? super Y>> Predicate between(Path<Y> p, List<Y> bounds) {
+                return cb.between(p, bounds.get(0), bounds.get(1));
+            }
+
             private Predicate unsupported(String kind) {
                 throw new IllegalArgumentException("Operator " + op + " unsupported for " + kind + " (attr=" + cond.attribute() + ")");
             }
@@ -72,8 +106,46 @@ public final class AttributePredicateVisitor {
         return cond.value().accept(v);
     }
 
+    /**
+     * Matches attribute rows that carry a value in any of the typed columns.
+     */
+    public static Predicate hasValue(CriteriaBuilder cb, From<?, ?> attr) {
+        return cb.or(
+                cb.isNotNull(attr.get("valueStr")),
+                cb.isNotNull(attr.get("valueNum")),
+                cb.isNotNull(attr.get("valueBool")),
+                cb.isNotNull(attr.get("valueDate")));
+    }
+
+    // Multi-value operators compare the same column against every value, so mixed or null values are rejected
+    private static <Y> List<Y> values(Condition<?> cond, Class<Y> type) {
+        Function<AttributeValue<?>, Y> raw = v -> {
+            if (!type.isInstance(v.value())) {
+                throw new IllegalArgumentException("Operator " + cond.operator() + " needs non-null " + type.getSimpleName()
+                        + " values (attr=" + cond.attribute() + ")");
+            }
+            return type.cast(v.value());
+        };
+        return cond.values().stream().<Y>map(raw).toList();
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT);
+    }
+
     private static String ensureLikePattern(String s) {
-        String norm = s.toLowerCase();
+        String norm = normalize(s);
         return (norm.indexOf('%') >= 0 || norm.indexOf('_') >= 0) ? norm : "%" + norm + "%";
     }
+
+    private static String escapeLike(String s) {
+        var escaped = new StringBuilder(s.length() + 4);
+        for (char c : s.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
 }
@@ -0,0 +1,37 @@
+package com.db.assetstore.infra.jpa.search;
+
+import com.db.assetstore.domain.search.FieldCondition;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.util.List;
+
+/**
+ * Converts a {@link FieldCondition} into a JPA Criteria Predicate on the asset path. The predicate
+ * compares the column as stored, so it can be served by the indexes on the assets table.
+ */
+public final class FieldPredicateBuilder {
+
+    private FieldPredicateBuilder() {}
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Predicate build(CriteriaBuilder cb, From<?, ?> asset, FieldCondition cond) {
+        Path<Comparable> p = asset.get(cond.field().property());
+        List<Comparable> values = (List<Comparable>) cond.values();
+        return switch (cond.operator()) {
+            case EQ -> cb.equal(p, values.get(0));
+            case NE -> cb.notEqual(p, values.get(0));
+            case GT -> cb.greaterThan(p, values.get(0));
+            case GTE -> cb.greaterThanOrEqualTo(p, values.get(0));
+            case LT -> cb.lessThan(p, values.get(0));
+            case LTE -> cb.lessThanOrEqualTo(p, values.get(0));
+            case BETWEEN -> cb.between(p, values.get(0), values.get(1));
+            case IN -> p.in(values);
+            case IS_NULL -> cb.isNull(p);
+            case LIKE, STARTS_WITH -> throw new IllegalArgumentException(
+                    "Operator " + cond.operator() + " unsupported for field " + cond.field().property());
+        };
+    }
+}
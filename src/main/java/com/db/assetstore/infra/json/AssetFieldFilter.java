@@ -0,0 +1,31 @@
+package com.db.assetstore.infra.json;
+
+import com.db.assetstore.domain.search.FieldSelection;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Jackson property filter applied to assets through {@link Mixin}. The application mapper writes every property;
+ * a response restricted to a {@link FieldSelection} swaps in {@link #only(FieldSelection)}.
+ */
+public final class AssetFieldFilter {
+
+    public static final String ID = "assetFields";
+
+    private AssetFieldFilter() {
+    }
+
+    @JsonFilter(ID)
+    public interface Mixin {
+    }
+
+    public static FilterProvider all() {
+        return new SimpleFilterProvider().addFilter(ID, SimpleBeanPropertyFilter.serializeAll());
+    }
+
+    public static FilterProvider only(FieldSelection fields) {
+        return new SimpleFilterProvider().addFilter(ID, SimpleBeanPropertyFilter.filterOutAllExcept(fields.jsonProperties()));
+    }
+}
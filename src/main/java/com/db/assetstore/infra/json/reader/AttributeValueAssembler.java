@@ -45,7 +45,7 @@ public class AttributeValueAssembler {
         return AttributesCollection.fromFlat(values);
     }
 
-    private AttributeValue<?> createValue(ParsedAttributeValue raw, AttributeDefinition definition) {
+    AttributeValue<?> createValue(ParsedAttributeValue raw, AttributeDefinition definition) {
         var type = definition.attributeType();
         var node = raw.node();
         var name = raw.name();
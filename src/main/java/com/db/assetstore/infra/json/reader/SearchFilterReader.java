@@ -0,0 +1,289 @@
+package com.db.assetstore.infra.json.reader;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AggregateFunction;
+import com.db.assetstore.domain.search.AggregateQuery;
+import com.db.assetstore.domain.search.Aggregation;
+import com.db.assetstore.domain.search.AssetField;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Facet;
+import com.db.assetstore.domain.search.FacetQuery;
+import com.db.assetstore.domain.search.FieldCondition;
+import com.db.assetstore.domain.search.GroupKey;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SearchExpression;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.domain.service.type.AttributeDefinition;
+import com.db.assetstore.domain.service.type.AttributeDefinitionRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Reads the JSON filter and sort of a search request into {@link SearchCriteria}, and the grouping and metrics
+ * of an aggregate request into an {@link AggregateQuery}, and the attributes of a facet request into a
+ * {@link FacetQuery}. Attribute values are typed
+ * through the attribute definitions of the requested asset type; without a type the first asset type defining
+ * the attribute is used. Core-field values are typed by the {@link AssetField}.
+ */
+@Component
+public class SearchFilterReader {
+
+    static final int DEFAULT_FACET_SIZE = 10;
+
+    private final AttributeDefinitionRegistry attributeDefinitionRegistry;
+    private final AttributeValueAssembler valueAssembler;
+
+    public SearchFilterReader(AttributeDefinitionRegistry attributeDefinitionRegistry,
+                              AttributeValueAssembler valueAssembler) {
+        this.attributeDefinitionRegistry = attributeDefinitionRegistry;
+        this.valueAssembler = valueAssembler;
+    }
+
+    /**
+     * @throws IllegalArgumentException   when the filter is not a well-formed expression tree
+     * @throws AttributeParsingException when it references unknown attributes or mistyped values
+     */
+    public SearchCriteria read(AssetType type, JsonNode filter, JsonNode sort) {
+        var builder = SearchCriteria.builder().type(type);
+        if (filter != null && !filter.isNull()) {
+            builder.where(expression(type, filter));
+        }
+        if (sort != null && !sort.isNull()) {
+            builder.orderBy(sortKey(type, sort));
+        }
+        return builder.build();
+    }
+
+    /**
+     * @throws IllegalArgumentException   when the filter, grouping or metrics are malformed
+     * @throws AttributeParsingException when they reference unknown attributes or mistyped values
+     */
+    public AggregateQuery readAggregate(AssetType type, JsonNode filter, JsonNode groupBy, JsonNode metrics) {
+        var groups = new ArrayList<GroupKey>();
+        for (JsonNode node : list(groupBy, "groupBy")) {
+            groups.add(groupKey(type, node));
+        }
+        var aggregations = new ArrayList<Aggregation>();
+        for (JsonNode node : list(metrics, "metrics")) {
+            aggregations.add(aggregation(type, node));
+        }
+        return new AggregateQuery(read(type, filter, null), groups, aggregations);
+    }
+
+    /**
+     * @param size values kept per attribute, {@value #DEFAULT_FACET_SIZE} when {@code null}
+     * @throws IllegalArgumentException   when the filter or the facets are malformed
+     * @throws AttributeParsingException when they reference unknown attributes or mistyped values
+     */
+    public FacetQuery readFacets(AssetType type, JsonNode filter, JsonNode facets, Integer size) {
+        var attributes = new ArrayList<Facet>();
+        for (JsonNode node : list(facets, "facets")) {
+            attributes.add(facet(type, node));
+        }
+        return new FacetQuery(read(type, filter, null), attributes, size != null ? size : DEFAULT_FACET_SIZE);
+    }
+
+    private SearchExpression expression(AssetType type, JsonNode node) {
+        if (!node.isObject()) {
+            throw new IllegalArgumentException("Search filter node must be an object: " + node);
+        }
+        if (node.has("and")) {
+            return new SearchExpression.And(operands(type, node.get("and"), "and"));
+        }
+        if (node.has("or")) {
+            return new SearchExpression.Or(operands(type, node.get("or"), "or"));
+        }
+        if (node.has("not")) {
+            return new SearchExpression.Not(expression(type, node.get("not")));
+        }
+        if (node.has("field")) {
+            return fieldCondition(node);
+        }
+        return condition(type, node);
+    }
+
+    private List<SearchExpression> operands(AssetType type, JsonNode node, String name) {
+        if (!node.isArray() || node.isEmpty()) {
+            throw new IllegalArgumentException("Search filter '" + name + "' needs a non-empty array");
+        }
+        var operands = new ArrayList<SearchExpression>(node.size());
+        node.forEach(operand -> operands.add(expression(type, operand)));
+        return operands;
+    }
+
+    private Condition<?> condition(AssetType type, JsonNode node) {
+        String attribute = node.path("attribute").asText(null);
+        if (attribute == null) {
+            throw new IllegalArgumentException("Search condition needs 'attribute' or 'field': " + node);
+        }
+        Operator operator = operator(node);
+
+        var definition = definition(type, attribute);
+        var values = new ArrayList<AttributeValue<Object>>();
+        if (node.has("values")) {
+            node.get("values").forEach(value -> values.add(value(definition, attribute, value)));
+        } else if (node.has("value")) {
+            values.add(value(definition, attribute, node.get("value")));
+        }
+        return new Condition<>(attribute, operator, values);
+    }
+
+    private FieldCondition fieldCondition(JsonNode node) {
+        AssetField field = AssetField.fromProperty(node.path("field").asText());
+        Operator operator = operator(node);
+        var values = new ArrayList<>();
+        if (node.has("values")) {
+            node.get("values").forEach(value -> values.add(fieldValue(field, value)));
+        } else if (node.has("value")) {
+            values.add(fieldValue(field, node.get("value")));
+        }
+        return new FieldCondition(field, operator, values);
+    }
+
+    private Operator operator(JsonNode node) {
+        String op = node.path("op").asText(null);
+        if (op == null) {
+            throw new IllegalArgumentException("Search condition needs 'op': " + node);
+        }
+        try {
+            return Operator.valueOf(op.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown search operator: " + op);
+        }
+    }
+
+    private SortKey sortKey(AssetType type, JsonNode node) {
+        SortKey.Direction direction;
+        try {
+            direction = SortKey.Direction.valueOf(node.path("direction").asText("ASC").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort direction: " + node.path("direction").asText());
+        }
+        if (node.has("field")) {
+            return SortKey.by(AssetField.fromProperty(node.get("field").asText()), direction);
+        }
+        String attribute = node.path("attribute").asText(null);
+        if (attribute == null) {
+            throw new IllegalArgumentException("Sort needs 'attribute' or 'field': " + node);
+        }
+        return SortKey.byAttribute(attribute, definition(type, attribute).attributeType(), direction);
+    }
+
+    private List<JsonNode> list(JsonNode node, String name) {
+        if (node == null || node.isNull()) {
+            return List.of();
+        }
+        if (!node.isArray()) {
+            throw new IllegalArgumentException("'" + name + "' must be an array");
+        }
+        var items = new ArrayList<JsonNode>(node.size());
+        node.forEach(items::add);
+        return items;
+    }
+
+    private GroupKey groupKey(AssetType type, JsonNode node) {
+        if (node.has("field")) {
+            String field = node.get("field").asText();
+            return "type".equals(field) ? GroupKey.type() : GroupKey.field(AssetField.fromProperty(field));
+        }
+        String attribute = node.path("attribute").asText(null);
+        if (attribute == null) {
+            throw new IllegalArgumentException("Group key needs 'attribute' or 'field': " + node);
+        }
+        return GroupKey.attribute(attribute, definition(type, attribute).attributeType());
+    }
+
+    private Aggregation aggregation(AssetType type, JsonNode node) {
+        AggregateFunction function;
+        try {
+            function = AggregateFunction.valueOf(node.path("function").asText("").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown aggregate function: " + node.path("function").asText());
+        }
+        if (node.has("field")) {
+            return Aggregation.of(function, AssetField.fromProperty(node.get("field").asText()));
+        }
+        String attribute = node.path("attribute").asText(null);
+        if (attribute == null) {
+            return new Aggregation(function, null, null);
+        }
+        var attributeType = definition(type, attribute).attributeType();
+        if (function != AggregateFunction.COUNT && attributeType != AttributeType.DECIMAL) {
+            throw new IllegalArgumentException(function + " needs a DECIMAL attribute but " + attribute
+                    + " is " + attributeType);
+        }
+        return Aggregation.ofAttribute(function, attribute);
+    }
+
+    private Facet facet(AssetType type, JsonNode node) {
+        String attribute = node.path("attribute").asText(null);
+        if (attribute == null) {
+            throw new IllegalArgumentException("Facet needs 'attribute': " + node);
+        }
+        var attributeType = definition(type, attribute).attributeType();
+        JsonNode bucket = node.path("bucket");
+        if (bucket.isNumber()) {
+            return new Facet(attribute, attributeType, bucket.decimalValue(), null);
+        }
+        if (bucket.isTextual()) {
+            ChronoUnit unit;
+            try {
+                unit = ChronoUnit.valueOf(bucket.textValue().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown facet bucket: " + bucket.textValue());
+            }
+            return new Facet(attribute, attributeType, null, unit);
+        }
+        if (!bucket.isMissingNode() && !bucket.isNull()) {
+            throw new IllegalArgumentException("Facet bucket must be a width or a date unit: " + node);
+        }
+        return Facet.of(attribute, attributeType);
+    }
+
+    private Object fieldValue(AssetField field, JsonNode node) {
+        try {
+            if (field.javaType() == String.class && node.isTextual()) {
+                return node.textValue();
+            }
+            if (field.javaType() == BigDecimal.class && (node.isNumber() || node.isTextual())) {
+                return node.isNumber() ? node.decimalValue() : new BigDecimal(node.textValue());
+            }
+            if (field.javaType() == Integer.class && (node.isIntegralNumber() || node.isTextual())) {
+                return node.isIntegralNumber() ? node.intValue() : Integer.valueOf(node.textValue());
+            }
+            if (field.javaType() == Instant.class && node.isTextual()) {
+                return Instant.parse(node.textValue());
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            // reported below together with mistyped values
+        }
+        throw new IllegalArgumentException("Field %s needs %s values but got %s"
+                .formatted(field.property(), field.javaType().getSimpleName(), node));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AttributeValue<Object> value(AttributeDefinition definition, String attribute, JsonNode node) {
+        return (AttributeValue<Object>) valueAssembler.createValue(new ParsedAttributeValue(attribute, node), definition);
+    }
+
+    private AttributeDefinition definition(AssetType type, String attribute) {
+        List<AssetType> candidates = type != null ? List.of(type) : List.of(AssetType.values());
+        return candidates.stream()
+                .map(candidate -> attributeDefinitionRegistry.getDefinition(candidate, attribute))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElseThrow(() -> AttributeParsingException.missingDefinition(attribute));
+    }
+}
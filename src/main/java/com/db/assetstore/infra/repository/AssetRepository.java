@@ -1,11 +1,13 @@
 package com.db.assetstore.infra.repository;
 
+import com.db.assetstore.domain.model.asset.AssetType;
 import com.db.assetstore.infra.jpa.AssetEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,4 +16,26 @@ public interface AssetRepository extends JpaRepository<AssetEntity, String>, Jpa
     @Query("select distinct a from AssetEntity a left join fetch a.attributes where a.id = :id and a.deleted = :deleted")
     Optional<AssetEntity> findByIdAndDeleted(@Param("id") String id, @Param("deleted") int deleted);
     List<AssetEntity> findAllByDeleted(int deleted);
+    List<AssetEntity> findAllByIdInAndDeleted(Collection<String> ids, int deleted);
+
+    @Query("select distinct a from AssetEntity a left join fetch a.attributes where a.id in :ids and a.deleted = 0")
+    List<AssetEntity> findActiveWithAttributes(@Param("ids") Collection<String> ids);
+
+    @Query("select a.id from AssetEntity a where a.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    @Query("select a.type from AssetEntity a where a.id = :id and a.deleted = 0")
+    Optional<AssetType> findActiveType(@Param("id") String id);
+
+    // Rows written before versioning was introduced carry no version; they read as version 0
+    @Query("select coalesce(a.version, 0) from AssetEntity a where a.id = :id and a.deleted = 0")
+    Optional<Long> findActiveVersion(@Param("id") String id);
+
+    @Query("select a.id as id, a.type as type from AssetEntity a where a.id in :ids and a.deleted = 0")
+    List<AssetTypeView> findActiveTypes(@Param("ids") Collection<String> ids);
+
+    interface AssetTypeView {
+        String getId();
+        AssetType getType();
+    }
 }
@@ -0,0 +1,16 @@
+package com.db.assetstore.infra.repository;
+
+import com.db.assetstore.infra.jpa.IdempotencyRecordEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecordEntity, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyRecordEntity r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
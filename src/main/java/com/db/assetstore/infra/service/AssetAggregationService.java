@@ -0,0 +1,150 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.search.AggregateQuery;
+import com.db.assetstore.domain.search.AggregateRow;
+import com.db.assetstore.domain.search.Aggregation;
+import com.db.assetstore.domain.search.GroupKey;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes {@link AggregateQuery aggregate queries} in one SQL statement: the search filter becomes the WHERE
+ * clause and group keys or metric targets read asset columns, or attribute values through one left join per
+ * attribute that the {@code (asset_id, name)} unique key keeps from multiplying rows. Only the grouped rows
+ * leave the database.
+ */
+@Service
+public class AssetAggregationService {
+
+    private final EntityManager entityManager;
+    private final AssetSearchSpecificationService specService;
+    private final int maxGroups;
+
+    public AssetAggregationService(EntityManager entityManager,
+                                   AssetSearchSpecificationService specService,
+                                   QueryProperties properties) {
+        this.entityManager = entityManager;
+        this.specService = specService;
+        this.maxGroups = properties.maxGroups();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the grouping yields more than {@link QueryProperties#maxGroups()} rows
+     */
+    @Transactional(readOnly = true)
+    public List<AggregateRow> aggregate(AggregateQuery aggregate) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AssetEntity> root = query.from(AssetEntity.class);
+        Map<String, Join<AssetEntity, AttributeEntity>> joins = new HashMap<>();
+
+        List<Expression<?>> groups = new ArrayList<>();
+        for (GroupKey key : aggregate.groupBy()) {
+            groups.add(groupExpression(key, root, joins, cb));
+        }
+        List<Selection<?>> selections = new ArrayList<>(groups);
+        for (Aggregation metric : aggregate.metrics()) {
+            selections.add(metricExpression(metric, root, joins, cb));
+        }
+        query.multiselect(selections);
+
+        Predicate where = specService.<AssetEntity>buildSpec(aggregate.criteria()).toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        if (!groups.isEmpty()) {
+            query.groupBy(groups);
+            query.orderBy(groups.stream().map(cb::asc).toList());
+        }
+
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setMaxResults(maxGroups + 1)
+                .getResultList();
+        if (tuples.size() > maxGroups) {
+            throw new IllegalArgumentException(
+                    "Aggregate yields more than %d groups; narrow the filter or the grouping".formatted(maxGroups));
+        }
+        return tuples.stream().map(tuple -> row(aggregate, tuple)).toList();
+    }
+
+    private AggregateRow row(AggregateQuery aggregate, Tuple tuple) {
+        int column = 0;
+        Map<String, Object> group = new LinkedHashMap<>();
+        for (GroupKey key : aggregate.groupBy()) {
+            group.put(key.label(), tuple.get(column++));
+        }
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (Aggregation metric : aggregate.metrics()) {
+            metrics.put(metric.label(), tuple.get(column++));
+        }
+        return new AggregateRow(group, metrics);
+    }
+
+    private Expression<?> groupExpression(GroupKey key,
+                                          Root<AssetEntity> root,
+                                          Map<String, Join<AssetEntity, AttributeEntity>> joins,
+                                          CriteriaBuilder cb) {
+        return switch (key.kind()) {
+            case TYPE -> root.get("type");
+            case FIELD -> root.get(key.field().property());
+            case ATTRIBUTE -> attribute(key.attribute(), root, joins, cb).get(switch (key.attributeType()) {
+                case STRING -> "valueStr";
+                case DECIMAL -> "valueNum";
+                case BOOLEAN -> "valueBool";
+                case DATE -> "valueDate";
+            });
+        };
+    }
+
+    private Expression<?> metricExpression(Aggregation metric,
+                                           Root<AssetEntity> root,
+                                           Map<String, Join<AssetEntity, AttributeEntity>> joins,
+                                           CriteriaBuilder cb) {
+        if (metric.field() == null && metric.attribute() == null) {
+            return cb.count(root);
+        }
+        Join<AssetEntity, AttributeEntity> attr = metric.attribute() != null
+                ? attribute(metric.attribute(), root, joins, cb)
+                : null;
+        Expression<Number> value = attr != null ? attr.get("valueNum") : root.get(metric.field().property());
+        return switch (metric.function()) {
+            // An attribute counts where the asset has it, whatever the value type
+            case COUNT -> cb.count(attr != null ? attr.get("id") : value);
+            case SUM -> cb.sum(value);
+            case MIN -> cb.min(value);
+            case MAX -> cb.max(value);
+            case AVG -> cb.avg(value);
+        };
+    }
+
+    private Join<AssetEntity, AttributeEntity> attribute(String name,
+                                                        Root<AssetEntity> root,
+                                                        Map<String, Join<AssetEntity, AttributeEntity>> joins,
+                                                        CriteriaBuilder cb) {
+        return joins.computeIfAbsent(name, ignored -> {
+            Join<AssetEntity, AttributeEntity> join = root.join("attributes", JoinType.LEFT);
+            join.on(cb.equal(join.get("name"), name));
+            return join;
+        });
+    }
+}
@@ -0,0 +1,182 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.Facet;
+import com.db.assetstore.domain.search.FacetQuery;
+import com.db.assetstore.domain.search.FacetValue;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.hibernate.query.criteria.JpaCriteriaQuery;
+import org.hibernate.query.criteria.JpaDerivedRoot;
+import org.hibernate.query.criteria.JpaSubQuery;
+import org.hibernate.query.criteria.JpaWindow;
+import org.hibernate.query.sqm.TemporalUnit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes {@link FacetQuery facet counts} with one grouped query over {@code asset_attribute}: the search filter
+ * restricts the owning assets, rows of every facet attribute are grouped by attribute and (bucketed) value, and a
+ * {@code row_number()} window partitioned by attribute ranks the groups by descending count, so the database
+ * returns only the top {@code size} groups of each attribute.
+ */
+@Service
+public class AssetFacetService {
+
+    private static final List<AttributeType> VALUE_TYPES = List.of(AttributeType.values());
+    private static final String VALUE = "value";
+
+    private final EntityManager entityManager;
+    private final AssetSearchSpecificationService specService;
+    private final int maxGroups;
+
+    public AssetFacetService(EntityManager entityManager,
+                             AssetSearchSpecificationService specService,
+                             QueryProperties properties) {
+        this.entityManager = entityManager;
+        this.specService = specService;
+        this.maxGroups = properties.maxGroups();
+    }
+
+    /**
+     * @return the top values of each facet attribute, keyed by attribute in query order; attributes no
+     * matching asset holds map to an empty list
+     * @throws IllegalArgumentException when the facet size exceeds {@link QueryProperties#maxGroups()}
+     */
+    @Transactional(readOnly = true)
+    public Map<String, List<FacetValue>> facets(FacetQuery facets) {
+        if (facets.size() > maxGroups) {
+            throw new IllegalArgumentException(
+                    "Facet size %d exceeds the limit of %d values".formatted(facets.size(), maxGroups));
+        }
+        Map<String, Facet> byName = new HashMap<>();
+        Map<String, List<FacetValue>> result = new LinkedHashMap<>();
+        for (Facet facet : facets.facets()) {
+            byName.put(facet.attribute(), facet);
+            result.put(facet.attribute(), new ArrayList<>());
+        }
+        for (Tuple row : topValues(facets)) {
+            String name = row.get(0, String.class);
+            Object value = row.get(1 + VALUE_TYPES.indexOf(byName.get(name).attributeType()));
+            result.get(name).add(new FacetValue(value, row.get(1 + VALUE_TYPES.size(), Long.class)));
+        }
+        return result;
+    }
+
+    // Rows of (name, one value column per type, count) ordered by name and rank; only the facet's own column is set.
+    // Values are computed in an inner derived table, so grouping and ranking work on plain columns
+    private List<Tuple> topValues(FacetQuery facets) {
+        HibernateCriteriaBuilder cb = (HibernateCriteriaBuilder) entityManager.getCriteriaBuilder();
+        JpaCriteriaQuery<Tuple> query = cb.createTupleQuery();
+
+        JpaSubQuery<Tuple> rows = query.subquery(Tuple.class);
+        Root<AssetEntity> root = rows.from(AssetEntity.class);
+        Join<AssetEntity, AttributeEntity> attr = root.join("attributes");
+        List<Expression<?>> values = VALUE_TYPES.stream()
+                .<Expression<?>>map(type -> value(facets.facets(), type, attr, cb))
+                .toList();
+        List<Selection<?>> rowColumns = new ArrayList<>();
+        rowColumns.add(attr.get("name").alias("name"));
+        for (int i = 0; i < values.size(); i++) {
+            rowColumns.add(values.get(i).alias(VALUE + i));
+        }
+        rows.multiselect(rowColumns);
+        Predicate holds = attr.get("name").in(facets.facets().stream().map(Facet::attribute).toList());
+        Predicate where = specService.<AssetEntity>buildSpec(facets.criteria()).toPredicate(root, query, cb);
+        rows.where(where != null ? cb.and(holds, where) : holds);
+
+        JpaSubQuery<Tuple> grouped = query.subquery(Tuple.class);
+        JpaDerivedRoot<Tuple> row = grouped.from(rows);
+        Expression<String> name = row.get("name");
+        List<Expression<?>> columns = new ArrayList<>();
+        for (int i = 0; i < values.size(); i++) {
+            columns.add(row.get(VALUE + i));
+        }
+        Expression<Long> count = cb.count();
+        List<Order> ranking = new ArrayList<>();
+        ranking.add(cb.desc(count));
+        columns.forEach(column -> ranking.add(cb.asc(column)));
+        JpaWindow window = cb.createWindow().partitionBy(name).orderBy(ranking.toArray(new Order[0]));
+        List<Selection<?>> groupColumns = new ArrayList<>();
+        groupColumns.add(name.alias("name"));
+        for (int i = 0; i < columns.size(); i++) {
+            groupColumns.add(columns.get(i).alias(VALUE + i));
+        }
+        groupColumns.add(count.alias("count"));
+        groupColumns.add(cb.rowNumber(window).alias("position"));
+        grouped.multiselect(groupColumns);
+        grouped.where(cb.or(columns.stream().map(cb::isNotNull).toArray(Predicate[]::new)));
+        List<Expression<?>> groups = new ArrayList<>();
+        groups.add(name);
+        groups.addAll(columns);
+        grouped.groupBy(groups);
+
+        JpaDerivedRoot<Tuple> top = query.from(grouped);
+        List<Selection<?>> selected = new ArrayList<>();
+        selected.add(top.get("name"));
+        for (int i = 0; i < values.size(); i++) {
+            selected.add(top.get(VALUE + i));
+        }
+        selected.add(top.get("count"));
+        query.multiselect(selected);
+        query.where(cb.le(top.get("position"), facets.size()));
+        query.orderBy(cb.asc(top.get("name")), cb.asc(top.get("position")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    // The (bucketed) value column of the facets of one value type, null on rows of other attributes
+    private static Expression<?> value(List<Facet> facets, AttributeType type, Join<AssetEntity, AttributeEntity> attr,
+                                       HibernateCriteriaBuilder cb) {
+        Expression<?> column = attr.get(switch (type) {
+            case STRING -> "valueStr";
+            case BOOLEAN -> "valueBool";
+            case DECIMAL -> "valueNum";
+            case DATE -> "valueDate";
+        });
+        CriteriaBuilder.SimpleCase<String, Object> value = cb.selectCase(attr.<String>get("name"));
+        boolean any = false;
+        for (Facet facet : facets) {
+            if (facet.attributeType() == type) {
+                value.when(facet.attribute(), bucket(facet, column, cb));
+                any = true;
+            }
+        }
+        return any ? value : cb.nullLiteral(column.getJavaType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<?> bucket(Facet facet, Expression<?> column, HibernateCriteriaBuilder cb) {
+        if (facet.numericBucket() != null) {
+            Expression<BigDecimal> value = (Expression<BigDecimal>) column;
+            return cb.prod(cb.floor(cb.quot(value, facet.numericBucket())), facet.numericBucket());
+        }
+        if (facet.dateBucket() != null) {
+            return cb.truncate((Expression<Instant>) column, switch (facet.dateBucket()) {
+                case DAYS -> TemporalUnit.DAY;
+                case MONTHS -> TemporalUnit.MONTH;
+                default -> TemporalUnit.YEAR;
+            });
+        }
+        return column;
+    }
+}
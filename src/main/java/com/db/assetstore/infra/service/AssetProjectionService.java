@@ -0,0 +1,160 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.search.AssetPage;
+import com.db.assetstore.domain.search.FieldSelection;
+import com.db.assetstore.domain.search.PageCursor;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AttributeMapper;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reads assets restricted to a {@link FieldSelection}: one query selects only the chosen {@code assets} columns
+ * (plus the id and the sort key the page cursor needs) and a second one only the chosen {@code asset_attribute}
+ * rows of the page, instead of hydrating whole entities with every attribute. Unselected properties stay unset.
+ */
+@Service
+@RequiredArgsConstructor
+public class AssetProjectionService {
+
+    private final EntityManager entityManager;
+    private final AssetSearchSpecificationService specService;
+    private final AttributeMapper attributeMapper;
+    private final QueryProperties queryProperties;
+
+    @Transactional(readOnly = true)
+    public Optional<Asset> get(String id, FieldSelection fields) {
+        Specification<AssetEntity> spec = (root, query, cb) ->
+                cb.and(cb.equal(root.get("id"), id), cb.equal(root.get("deleted"), 0));
+        List<Row> rows = select(fields, spec, null, 1);
+        List<Asset> assets = withAttributes(rows, fields);
+        return assets.stream().findFirst();
+    }
+
+    /**
+     * Same paging contract as {@link com.db.assetstore.domain.service.asset.AssetQueryService#search(SearchCriteria,
+     * String, Integer)}, with assets restricted to {@code fields}.
+     */
+    @Transactional(readOnly = true)
+    public AssetPage search(SearchCriteria criteria, String cursor, Integer limit, FieldSelection fields) {
+        int pageSize = queryProperties.pageSize(limit);
+        SortKey sort = criteria.sort();
+        Specification<AssetEntity> spec = specService.<AssetEntity>buildSpec(criteria).and(specService.orderedBy(criteria));
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(specService.after(sort, PageCursor.decode(cursor)));
+        }
+        List<Row> rows = select(fields, spec, sort, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new AssetPage(withAttributes(rows, fields), null);
+        }
+        List<Row> page = rows.subList(0, pageSize);
+        Row last = page.get(pageSize - 1);
+        return new AssetPage(withAttributes(page, fields), new PageCursor(last.sortValue(), last.id()).encode());
+    }
+
+    private List<Row> select(FieldSelection fields, Specification<AssetEntity> spec, SortKey sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<AssetEntity> root = query.from(AssetEntity.class);
+
+        List<String> properties = new ArrayList<>(List.of("id"));
+        fields.properties().stream().filter(property -> !property.equals("id")).forEach(properties::add);
+        List<Selection<?>> selections = new ArrayList<>();
+        properties.forEach(property -> selections.add(root.get(column(property))));
+        if (sort != null) {
+            selections.add(specService.sortExpression(sort, root, query, cb));
+        }
+        query.multiselect(selections);
+        Predicate where = spec.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList().stream()
+                .map(tuple -> {
+                    var asset = Asset.builder();
+                    for (int i = 0; i < properties.size(); i++) {
+                        set(asset, properties.get(i), tuple.get(i));
+                    }
+                    return new Row(asset, tuple.get(0, String.class), sort != null ? tuple.get(properties.size()) : null);
+                })
+                .toList();
+    }
+
+    // Only the selected attribute rows of the returned assets are read, in one IN query
+    private List<Asset> withAttributes(List<Row> rows, FieldSelection fields) {
+        List<Asset> assets = rows.stream().map(row -> row.asset().build()).toList();
+        if (!fields.hasAttributes() || assets.isEmpty()) {
+            return assets;
+        }
+        var query = entityManager.createQuery("select a from AttributeEntity a where a.asset.id in :ids"
+                        + (fields.allAttributes() ? "" : " and a.name in :names"), AttributeEntity.class)
+                .setParameter("ids", rows.stream().map(Row::id).toList());
+        if (!fields.allAttributes()) {
+            query.setParameter("names", fields.attributes());
+        }
+        Map<String, List<AttributeValue<?>>> byAsset = new HashMap<>();
+        for (AttributeEntity attribute : query.getResultList()) {
+            byAsset.computeIfAbsent(attribute.getAsset().getId(), ignored -> new ArrayList<>())
+                    .add(attributeMapper.toModel(attribute));
+        }
+        assets.forEach(asset -> asset.setAttributes(byAsset.getOrDefault(asset.getId(), List.of())));
+        return assets;
+    }
+
+    private static String column(String property) {
+        return property.equals("softDelete") ? "deleted" : property;
+    }
+
+    private static void set(Asset.AssetBuilder asset, String property, Object value) {
+        switch (property) {
+            case "id" -> asset.id((String) value);
+            case "type" -> asset.type((AssetType) value);
+            case "version" -> asset.version((Long) value);
+            case "status" -> asset.status((String) value);
+            case "subtype" -> asset.subtype((String) value);
+            case "statusEffectiveTime" -> asset.statusEffectiveTime((Instant) value);
+            case "createdAt" -> asset.createdAt((Instant) value);
+            case "createdBy" -> asset.createdBy((String) value);
+            case "modifiedAt" -> asset.modifiedAt((Instant) value);
+            case "modifiedBy" -> asset.modifiedBy((String) value);
+            case "softDelete" -> asset.softDelete((Integer) value != 0);
+            case "notionalAmount" -> asset.notionalAmount((BigDecimal) value);
+            case "year" -> asset.year((Integer) value);
+            case "wh" -> asset.wh((String) value);
+            case "sourceSystemName" -> asset.sourceSystemName((String) value);
+            case "externalReference" -> asset.externalReference((String) value);
+            case "description" -> asset.description((String) value);
+            case "currency" -> asset.currency((String) value);
+            default -> throw new IllegalArgumentException("Unknown field: " + property);
+        }
+    }
+
+    private record Row(Asset.AssetBuilder asset, String id, Object sortValue) {
+    }
+}
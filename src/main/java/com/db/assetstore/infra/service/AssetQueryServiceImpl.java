@@ -2,16 +2,34 @@ package com.db.assetstore.infra.service;
 
 import com.db.assetstore.domain.model.asset.Asset;
 import com.db.assetstore.domain.service.asset.AssetQueryService;
+import com.db.assetstore.domain.search.AssetPage;
+import com.db.assetstore.domain.search.PageCursor;
 import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.infra.config.QueryProperties;
 import com.db.assetstore.infra.jpa.AssetEntity;
 import com.db.assetstore.infra.mapper.AssetMapper;
 import com.db.assetstore.infra.repository.AssetRepository;
 import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -21,6 +39,10 @@ public class AssetQueryServiceImpl implements AssetQueryService {
     private final AssetMapper assetMapper;
     private final AssetRepository assetRepo;
     private final AssetSearchSpecificationService specService;
+    private final QueryProperties queryProperties;
+    private final AttributeIndex attributeIndex;
+    private final EntityManager entityManager;
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Asset> get(String id) {
@@ -28,15 +50,131 @@ public class AssetQueryServiceImpl implements AssetQueryService {
                 .map(assetMapper::toModel);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> version(String id) {
+        return assetRepo.findActiveVersion(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<String, Asset> getAll(Collection<String> ids) {
+        List<String> distinct = ids.stream().distinct().toList();
+        int chunkSize = queryProperties.streamBatchSize();
+        Map<String, Asset> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<String> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            // Mapping the first asset initialises the attributes of the whole chunk in one batch query
+            assetMapper.toModelList(assetRepo.findAllByIdInAndDeleted(chunk, 0))
+                    .forEach(asset -> found.put(asset.getId(), asset));
+        }
+        Map<String, Asset> ordered = new LinkedHashMap<>();
+        for (String id : distinct) {
+            Asset asset = found.get(id);
+            if (asset != null) {
+                ordered.put(id, asset);
+            }
+        }
+        return ordered;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Asset> search(SearchCriteria criteria) {
-        List<AssetEntity> entities = searchEntities(criteria);
-        return assetMapper.toModelList(entities);
+        Optional<AttributeIndex.Match> match = attributeIndex.lookup(criteria);
+        if (match.isPresent()) {
+            return List.copyOf(getAll(candidates(criteria, match.get()).stream().map(Candidate::id).toList()).values());
+        }
+        return assetMapper.toModelList(assetRepo.findAll(specService.<AssetEntity>buildSpec(criteria)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AssetPage search(SearchCriteria criteria, String cursor, Integer limit) {
+        int pageSize = queryProperties.pageSize(limit);
+        SortKey sort = criteria.sort();
+        Optional<AttributeIndex.Match> match = attributeIndex.lookup(criteria);
+        if (match.isPresent()) {
+            return indexedPage(criteria, match.get(), cursor, pageSize);
+        }
+        Specification<AssetEntity> spec = specService.<AssetEntity>buildSpec(criteria).and(specService.orderedBy(criteria));
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(specService.after(sort, PageCursor.decode(cursor)));
+        }
+        // One extra row tells whether another page follows without a count query
+        List<AssetEntity> rows = assetRepo.findBy(spec, q -> q.limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new AssetPage(assetMapper.toModelList(rows), null);
+        }
+        List<AssetEntity> page = rows.subList(0, pageSize);
+        AssetEntity last = page.get(pageSize - 1);
+        return new AssetPage(assetMapper.toModelList(page), new PageCursor(specService.sortValue(last, sort), last.getId()).encode());
+    }
+
+    /**
+     * Pages the ids of an index match in memory, in the {@code (sort key, id)} order of
+     * {@link AssetSearchSpecificationService#orderedBy(SearchCriteria)}, and loads only the assets of the page.
+     */
+    private AssetPage indexedPage(SearchCriteria criteria, AttributeIndex.Match match, String cursor, int pageSize) {
+        SortKey sort = criteria.sort();
+        Comparator<Candidate> order = order(sort);
+        List<Candidate> sorted = candidates(criteria, match).stream().sorted(order).toList();
+        int from = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor after = PageCursor.decode(cursor);
+            if (after.key() != null && !sort.valueType().isInstance(after.key())) {
+                throw new IllegalArgumentException("Page cursor does not match the requested sort");
+            }
+            Candidate last = new Candidate(after.id(), after.key());
+            while (from < sorted.size() && order.compare(sorted.get(from), last) <= 0) {
+                from++;
+            }
+        }
+        List<Candidate> page = sorted.subList(from, Math.min(from + pageSize, sorted.size()));
+        Map<String, Asset> assets = getAll(page.stream().map(Candidate::id).toList());
+        List<Asset> content = page.stream().map(candidate -> assets.get(candidate.id())).filter(Objects::nonNull).toList();
+        if (from + pageSize >= sorted.size()) {
+            return new AssetPage(content, null);
+        }
+        Candidate last = page.get(pageSize - 1);
+        return new AssetPage(content, new PageCursor(last.sortValue(), last.id()).encode());
+    }
+
+    /**
+     * Ids and sort keys of the live assets among an index match, read by primary key a chunk at a time, so no
+     * statement binds more than {@link QueryProperties#streamBatchSize()} ids. An exact match is not checked again;
+     * otherwise the chunk is filtered by the whole criteria.
+     */
+    private List<Candidate> candidates(SearchCriteria criteria, AttributeIndex.Match match) {
+        Specification<AssetEntity> filter = match.exact()
+                ? (root, query, cb) -> cb.equal(root.get("deleted"), 0)
+                : specService.buildSpec(criteria);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        List<String> ids = match.assetIds();
+        int chunkSize = queryProperties.streamBatchSize();
+        List<Candidate> candidates = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            CriteriaQuery<Tuple> query = cb.createTupleQuery();
+            Root<AssetEntity> root = query.from(AssetEntity.class);
+            query.multiselect(root.get("id"), specService.sortExpression(criteria.sort(), root, query, cb));
+            query.where(cb.and(root.get("id").in(chunk), filter.toPredicate(root, query, cb)));
+            entityManager.createQuery(query).getResultList()
+                    .forEach(row -> candidates.add(new Candidate(row.get(0, String.class), row.get(1))));
+        }
+        return candidates;
+    }
+
+    // Missing sort values come first in ascending order and last in descending order, as in the SQL order
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Candidate> order(SortKey sort) {
+        Comparator<Object> values = Comparator.nullsFirst((a, b) -> ((Comparable) a).compareTo(b));
+        Comparator<Candidate> ascending = Comparator.comparing(Candidate::sortValue, values)
+                .thenComparing(Candidate::id);
+        return sort.descending() ? ascending.reversed() : ascending;
     }
 
-    private List<AssetEntity> searchEntities(SearchCriteria criteria) {
-        return assetRepo.findAll(specService.buildSpec(criteria));
+    private record Candidate(String id, Object sortValue) {
     }
 
 }
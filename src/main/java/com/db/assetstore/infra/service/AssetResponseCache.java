@@ -0,0 +1,82 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.service.asset.AssetQueryService;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
+import com.db.assetstore.infra.cache.CacheStats;
+import com.db.assetstore.infra.cache.LruCache;
+import com.db.assetstore.infra.config.ResponseCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialised JSON of single assets, as written by {@code GET /assets/{id}}. An entry is only served while its
+ * version is the asset's current version, which callers read with {@link AssetQueryService#version(String)}, so a
+ * hit skips the attribute fetch, the mapping and the serialisation. Entries are dropped once a command changing
+ * the asset commits.
+ */
+@Service
+public class AssetResponseCache {
+
+    private final AssetQueryService assetQueryService;
+    private final ObjectMapper objectMapper;
+    private final LruCache<String, CachedAsset> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AssetResponseCache(AssetQueryService assetQueryService,
+                              ObjectMapper objectMapper,
+                              ResponseCacheProperties properties) {
+        this.assetQueryService = assetQueryService;
+        this.objectMapper = objectMapper;
+        this.entries = new LruCache<>(properties.size(), properties.ttl());
+    }
+
+    /**
+     * Serialised asset together with the version it was read at.
+     */
+    public record CachedAsset(long version, byte[] json) {
+    }
+
+    /**
+     * The serialised active asset, from the cache when it was stored at {@code currentVersion}. Empty when the
+     * asset has been deleted meanwhile.
+     */
+    public Optional<CachedAsset> get(@NonNull String id, long currentVersion) {
+        Optional<CachedAsset> cached = entries.get(id).filter(entry -> entry.version() == currentVersion);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        // Stored under the version actually read, which a concurrent commit may have moved past the one checked
+        return assetQueryService.get(id).map(asset -> store(id, asset));
+    }
+
+    @TransactionalEventListener
+    public void onAssetsChanged(AssetsChangedEvent event) {
+        event.assetIds().forEach(entries::invalidate);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), entries.evictions(), entries.size());
+    }
+
+    private CachedAsset store(String id, Asset asset) {
+        try {
+            CachedAsset entry = new CachedAsset(Objects.requireNonNullElse(asset.getVersion(), 0L),
+                    objectMapper.writeValueAsBytes(asset));
+            entries.put(id, entry);
+            return entry;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise asset " + id, e);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.db.assetstore.infra.service;
 import com.db.assetstore.domain.model.asset.Asset;
 import com.db.assetstore.domain.model.asset.AssetPatch;
 import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.service.asset.AssetAlreadyExistsException;
+import com.db.assetstore.domain.service.asset.AssetNotFoundException;
+import com.db.assetstore.domain.service.cmd.BulkCommandException;
 import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
 import com.db.assetstore.domain.service.asset.cmd.DeleteAssetCommand;
@@ -22,12 +25,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -51,12 +62,49 @@ public class AssetService {
         return new CommandResult<>(persistedId, persistedId);
     }
 
+    /**
+     * Stages a chunk of new assets in the current persistence context and writes their history rows as one set.
+     * Nothing is flushed here; the caller's transaction commit emits the grouped inserts. Client-assigned ids
+     * are checked against the table with a single query up front, so a duplicate is reported for its item.
+     */
+    public List<CommandResult<String>> createAll(@NonNull List<CreateAssetCommand> commands) {
+        rejectExistingIds(commands);
+        Instant now = Instant.now();
+        List<AssetEntity> entities = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            CreateAssetCommand command = commands.get(i);
+            try {
+                Asset asset = assetCommandMapper.fromCreateCommand(command, resolveAssetId(command), now, now);
+                AssetEntity entity = toEntity(asset);
+                assetRepo.save(entity);
+                entities.add(entity);
+            } catch (RuntimeException e) {
+                throw BulkCommandException.forItem(i, e);
+            }
+        }
+
+        assetHistoryRepo.saveAll(entities.stream()
+                .map(entity -> assetHistoryMapper.toEntity(entity, now))
+                .toList());
+        return entities.stream()
+                .map(entity -> new CommandResult<>(entity.getId(), entity.getId()))
+                .toList();
+    }
+
     public CommandResult<Void> patch(@NonNull PatchAssetCommand command) {
         String assetId = command.assetId();
-        AssetPatch patch = assetCommandMapper.toPatch(command);
+        AssetEntity entity = assetRepo.findByIdAndDeleted(assetId, 0)
+                .orElseThrow(() -> new AssetNotFoundException(assetId));
+        return patch(entity, command);
+    }
 
-        applyPatch(assetId, patch, command.executedBy());
-        return CommandResult.noResult(assetId);
+    /**
+     * Applies a patch to an asset already loaded (with its attributes) in the current persistence context.
+     */
+    public CommandResult<Void> patch(@NonNull AssetEntity entity, @NonNull PatchAssetCommand command) {
+        AssetPatch patch = assetCommandMapper.toPatch(command);
+        boolean changed = applyPatch(entity, patch, command.executedBy());
+        return changed ? CommandResult.noResult(entity.getId()) : CommandResult.unchanged(entity.getId());
     }
 
     public CommandResult<Void> delete(@NonNull DeleteAssetCommand command) {
@@ -65,6 +113,45 @@ public class AssetService {
         return CommandResult.noResult(assetId);
     }
 
+    /**
+     * Loads the active assets among {@code ids} together with their attributes in a single query.
+     */
+    public Map<String, AssetEntity> findActive(@NonNull Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return assetRepo.findActiveWithAttributes(ids).stream()
+                .collect(Collectors.toMap(AssetEntity::getId, Function.identity()));
+    }
+
+    private void rejectExistingIds(List<CreateAssetCommand> commands) {
+        List<String> assignedIds = commands.stream()
+                .map(CreateAssetCommand::id)
+                .filter(id -> id != null && !id.isBlank())
+                .toList();
+        if (assignedIds.isEmpty()) {
+            return;
+        }
+        Set<String> taken = new HashSet<>(assetRepo.findExistingIds(assignedIds));
+        List<BulkCommandException.ItemError> errors = new ArrayList<>();
+        AssetAlreadyExistsException firstCause = null;
+        for (int i = 0; i < commands.size(); i++) {
+            String id = commands.get(i).id();
+            if (id == null || id.isBlank()) {
+                continue;
+            }
+            // Also catches an id repeated within the chunk: its first occurrence marks it as taken
+            if (!taken.add(id)) {
+                AssetAlreadyExistsException error = new AssetAlreadyExistsException(id);
+                errors.add(new BulkCommandException.ItemError(i, error.getMessage()));
+                firstCause = firstCause != null ? firstCause : error;
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw BulkCommandException.forItems(errors, firstCause);
+        }
+    }
+
     private String resolveAssetId(CreateAssetCommand command) {
         if (command.id() != null && !command.id().isBlank()) {
             return command.id();
@@ -74,38 +161,98 @@ public class AssetService {
 
     private String persistAsset(@NonNull Asset asset) {
         log.info("Adding asset: type={}, id={}", asset.getType(), asset.getId());
+        AssetEntity entity = toEntity(asset);
+        assetRepo.save(entity);
+        recordHistory(entity, Instant.now());
+        return entity.getId();
+    }
+
+    private AssetEntity toEntity(@NonNull Asset asset) {
         AssetEntity entity = assetMapper.toEntity(asset);
         var existingAttributes = entity.getAttributes();
-        if (existingAttributes != null && !existingAttributes.isEmpty()) {
-            assetRepo.save(entity);
-        } else {
-            persistAttributes(entity, asset.getAttributesFlat());
+        if (existingAttributes == null || existingAttributes.isEmpty()) {
+            addAttributes(entity, asset.getAttributesFlat());
         }
-        recordHistory(entity, Instant.now());
-        return entity.getId();
+        return entity;
     }
 
-    private void applyPatch(@NonNull String id, @NonNull AssetPatch patch, String executedBy) {
-        AssetEntity entity = assetRepo.findByIdAndDeleted(id, 0)
-                .orElseThrow(() -> new IllegalArgumentException("Asset not found: " + id));
+    /**
+     * Diffs the patch against the entity before touching it and writes only what differs.
+     *
+     * @return {@code false} when the patch changes nothing; the entity, version and history are then left untouched
+     */
+    private boolean applyPatch(@NonNull AssetEntity entity, @NonNull AssetPatch patch, String executedBy) {
+        List<Runnable> coreChanges = new ArrayList<>();
+        diff(patch.status(), entity.getStatus(), entity::setStatus, coreChanges);
+        diff(patch.subtype(), entity.getSubtype(), entity::setSubtype, coreChanges);
+        diff(patch.notionalAmount(), entity.getNotionalAmount(), entity::setNotionalAmount, coreChanges);
+        diff(patch.year(), entity.getYear(), entity::setYear, coreChanges);
+        diff(patch.description(), entity.getDescription(), entity::setDescription, coreChanges);
+        diff(patch.currency(), entity.getCurrency(), entity::setCurrency, coreChanges);
+
+        Map<String, AttributeEntity> existing = attributesByName(entity);
+        List<AttributeValue<?>> attributeChanges = diffAttributes(existing, patch.attributes());
+
+        if (coreChanges.isEmpty() && attributeChanges.isEmpty()) {
+            log.debug("Patch for asset {} changes nothing, skipping write", entity.getId());
+            return false;
+        }
 
         Instant changeTime = Instant.now();
-        Optional.ofNullable(patch.status()).ifPresent(entity::setStatus);
-        Optional.ofNullable(patch.subtype()).ifPresent(entity::setSubtype);
-        Optional.ofNullable(patch.notionalAmount()).ifPresent(entity::setNotionalAmount);
-        Optional.ofNullable(patch.year()).ifPresent(entity::setYear);
-        Optional.ofNullable(patch.description()).ifPresent(entity::setDescription);
-        Optional.ofNullable(patch.currency()).ifPresent(entity::setCurrency);
+        coreChanges.forEach(Runnable::run);
         entity.setModifiedBy(executedBy);
         entity.setModifiedAt(changeTime);
         entity = assetRepo.save(entity);
 
-        var patchAttributes = patch.attributes();
-        if (patchAttributes != null && !patchAttributes.isEmpty()) {
-            updateAsset(entity, patchAttributes);
-        }
+        updateAsset(entity, existing, attributeChanges);
 
         recordHistory(entity, changeTime);
+        return true;
+    }
+
+    private static <T> void diff(T incoming, T current, Consumer<T> setter, List<Runnable> changes) {
+        if (incoming == null || sameValue(incoming, current)) {
+            return;
+        }
+        changes.add(() -> setter.accept(incoming));
+    }
+
+    private static boolean sameValue(Object incoming, Object current) {
+        if (incoming instanceof BigDecimal a && current instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(incoming, current);
+    }
+
+    private Map<String, AttributeEntity> attributesByName(AssetEntity asset) {
+        Map<String, AttributeEntity> existing = new HashMap<>();
+        var currentEntities = asset.getAttributes();
+        if (currentEntities != null) {
+            for (var attribute : currentEntities) {
+                if (attribute != null) {
+                    existing.put(attribute.getName(), attribute);
+                }
+            }
+        }
+        return existing;
+    }
+
+    private List<AttributeValue<?>> diffAttributes(Map<String, AttributeEntity> existing,
+                                                   Collection<AttributeValue<?>> incoming) {
+        if (incoming == null || incoming.isEmpty()) {
+            return List.of();
+        }
+        List<AttributeValue<?>> changes = new ArrayList<>();
+        for (AttributeValue<?> value : incoming) {
+            if (value == null) {
+                continue;
+            }
+            AttributeEntity current = existing.get(value.name());
+            if (current == null || AttributeComparator.checkForUpdates(attributeMapper.toModel(current), value)) {
+                changes.add(value);
+            }
+        }
+        return changes;
     }
 
     private void deleteAsset(@NonNull String id, String executedBy) {
@@ -127,25 +274,9 @@ public class AssetService {
         assetHistoryRepo.save(historyEntity);
     }
 
-    private void updateAsset(@NonNull AssetEntity asset, @NonNull Collection<AttributeValue<?>> attributes) {
-        if (attributes.isEmpty()) {
-            return;
-        }
-
-        Map<String, AttributeEntity> existing = new HashMap<>();
-        var currentEntities = asset.getAttributes();
-        if (currentEntities != null) {
-            for (var attribute : currentEntities) {
-                if (attribute != null) {
-                    existing.put(attribute.getName(), attribute);
-                }
-            }
-        }
-
-        for (AttributeValue<?> incoming : attributes) {
-            if (incoming == null) {
-                continue;
-            }
+    private void updateAsset(@NonNull AssetEntity asset, @NonNull Map<String, AttributeEntity> existing,
+                             @NonNull Collection<AttributeValue<?>> changes) {
+        for (AttributeValue<?> incoming : changes) {
             AttributeEntity current = existing.get(incoming.name());
             if (current == null) {
                 AttributeEntity created = attributeMapper.toEntity(asset, incoming);
@@ -153,20 +284,14 @@ public class AssetService {
                 attributeRepo.save(created);
                 existing.put(created.getName(), created);
             } else {
-                existing.put(current.getName(), current);
-
-                AttributeValue<?> currentValue = attributeMapper.toModel(current);
-                if (AttributeComparator.checkForUpdates(currentValue, incoming)) {
-                    AttributeUpdater.apply(current, incoming);
-                    attributeRepo.save(current);
-                }
+                AttributeUpdater.apply(current, incoming);
+                attributeRepo.save(current);
             }
         }
     }
 
-    private void persistAttributes(AssetEntity asset, Collection<AttributeValue<?>> attributes) {
+    private void addAttributes(AssetEntity asset, Collection<AttributeValue<?>> attributes) {
         if (attributes == null || attributes.isEmpty()) {
-            assetRepo.save(asset);
             return;
         }
         for (var attributeValue : attributes) {
@@ -176,6 +301,5 @@ public class AssetService {
             AttributeEntity entity = attributeMapper.toEntity(asset, attributeValue);
             asset.getAttributes().add(entity);
         }
-        assetRepo.save(asset);
     }
 }
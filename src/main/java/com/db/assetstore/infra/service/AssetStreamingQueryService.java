@@ -0,0 +1,171 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.infra.api.dto.AssetBatchGetResult;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.mapper.AssetMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes search results as one JSON array straight from a database cursor. Rows are mapped and serialised
+ * in batches of {@link QueryProperties#streamBatchSize()}, after which the persistence context is cleared,
+ * so memory stays flat whatever the size of the result. Batch gets of many ids are streamed the same way.
+ */
+@Service
+public class AssetStreamingQueryService {
+
+    private final EntityManager entityManager;
+    private final AssetMapper assetMapper;
+    private final AssetRepository assetRepository;
+    private final AssetSearchSpecificationService specService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final TransactionTemplate readOnly;
+    private final int batchSize;
+
+    public AssetStreamingQueryService(EntityManager entityManager,
+                                      AssetMapper assetMapper,
+                                      AssetRepository assetRepository,
+                                      AssetSearchSpecificationService specService,
+                                      ObjectMapper objectMapper,
+                                      PlatformTransactionManager transactionManager,
+                                      QueryProperties properties) {
+        this.entityManager = entityManager;
+        this.assetMapper = assetMapper;
+        this.assetRepository = assetRepository;
+        this.specService = specService;
+        this.objectMapper = objectMapper;
+        // Output is flushed once per chunk, not after every asset
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.batchSize = properties.streamBatchSize();
+    }
+
+    /**
+     * Only a complete result gets its closing bracket: when reading or mapping fails midway the array and the
+     * stream are left open and the exception propagates, so the client sees a truncated body rather than a
+     * well-formed partial array.
+     *
+     * @return number of assets written
+     */
+    public long writeJsonArray(SearchCriteria criteria, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        generator.writeStartArray();
+        Long written;
+        try {
+            written = readOnly.execute(status -> {
+                try (Stream<AssetEntity> rows = stream(specService.<AssetEntity>buildSpec(criteria)
+                        .and(specService.orderedBy(criteria)))) {
+                    return write(rows.iterator(), generator);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+        generator.close();
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Writes one {@link AssetBatchGetResult} per requested id, in request order, as newline-delimited JSON. Ids are
+     * read {@link QueryProperties#streamBatchSize()} at a time, each chunk in its own read-only transaction, and
+     * every chunk is flushed to the client before the next one is read.
+     *
+     * @return number of ids found
+     */
+    public long writeBatchGet(List<String> ids, OutputStream out) throws IOException {
+        long found = 0;
+        try (SequenceWriter results = writer.withRootValueSeparator("\n").writeValues(out)) {
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<String> chunk = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                Map<String, Asset> assets = readOnly.execute(status -> load(chunk));
+                for (String id : chunk) {
+                    Asset asset = assets.get(id);
+                    results.write(AssetBatchGetResult.of(id, asset));
+                    found += asset != null ? 1 : 0;
+                }
+                results.flush();
+            }
+        }
+        return found;
+    }
+
+    private Map<String, Asset> load(List<String> ids) {
+        Map<String, Asset> assets = new HashMap<>();
+        // Mapping the first asset initialises the attributes of the whole chunk in one query
+        for (AssetEntity entity : assetRepository.findAllByIdInAndDeleted(ids, 0)) {
+            assets.put(entity.getId(), assetMapper.toModel(entity));
+        }
+        entityManager.clear();
+        return assets;
+    }
+
+    private long write(Iterator<AssetEntity> rows, JsonGenerator generator) {
+        long written = 0;
+        List<AssetEntity> batch = new ArrayList<>(batchSize);
+        try {
+            while (rows.hasNext()) {
+                batch.add(rows.next());
+                if (batch.size() == batchSize || !rows.hasNext()) {
+                    // Mapping the first asset initialises the attributes of the whole batch in one query
+                    for (AssetEntity entity : batch) {
+                        writer.writeValue(generator, assetMapper.toModel(entity));
+                    }
+                    written += batch.size();
+                    batch.clear();
+                    // Written entities are no longer needed; drop them so the session does not grow with the result
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return written;
+    }
+
+    private Stream<AssetEntity> stream(Specification<AssetEntity> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AssetEntity> query = cb.createQuery(AssetEntity.class);
+        Root<AssetEntity> root = query.from(AssetEntity.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, batchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+}
@@ -0,0 +1,68 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
+import com.db.assetstore.infra.cache.LruCache;
+import com.db.assetstore.infra.config.AssetTypeCacheProperties;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.repository.AssetRepository.AssetTypeView;
+import lombok.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the type of an asset without loading it. An asset's type never changes, so resolved types are kept
+ * in a bounded cache. Entries of changed assets are evicted once their transaction commits, so a delete from
+ * any path stops resolving while a rolled-back one keeps its entry.
+ */
+@Service
+public class AssetTypeResolver {
+
+    private final AssetRepository assetRepo;
+    private final LruCache<String, AssetType> types;
+
+    public AssetTypeResolver(AssetRepository assetRepo, AssetTypeCacheProperties properties) {
+        this.assetRepo = assetRepo;
+        this.types = new LruCache<>(properties.size(), properties.ttl());
+    }
+
+    public Optional<AssetType> resolve(@NonNull String assetId) {
+        Optional<AssetType> cached = types.get(assetId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<AssetType> type = assetRepo.findActiveType(assetId);
+        type.ifPresent(t -> types.put(assetId, t));
+        return type;
+    }
+
+    /**
+     * Resolves the types of the active assets among {@code ids}, querying only the ids missing from the cache.
+     */
+    public Map<String, AssetType> resolveAll(@NonNull Collection<String> ids) {
+        Map<String, AssetType> resolved = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String id : ids) {
+            types.get(id).ifPresentOrElse(type -> resolved.put(id, type), () -> missing.add(id));
+        }
+        if (!missing.isEmpty()) {
+            for (AssetTypeView view : assetRepo.findActiveTypes(missing)) {
+                types.put(view.getId(), view.getType());
+                resolved.put(view.getId(), view.getType());
+            }
+        }
+        return resolved;
+    }
+
+    @TransactionalEventListener
+    public void onAssetsChanged(AssetsChangedEvent event) {
+        event.assetIds().forEach(types::invalidate);
+    }
+}
@@ -14,6 +14,9 @@ public final class AttributeComparator {
         if (existing == null || incoming == null) {
             return existing != incoming;
         }
+        if (existing.attributeType() != incoming.attributeType()) {
+            return true;
+        }
         return incoming.accept(new AttributeValueVisitor<>() {
             @Override
             public Boolean visitString(String v, String name) {
@@ -39,6 +42,9 @@ public final class AttributeComparator {
             @Override
             public Boolean visitDate(Instant v, String name) {
                 Instant a = (Instant) existing.value();
+                if (a == null || v == null) {
+                    return a != v;
+                }
                 return a.compareTo(v) != 0;
             }
         });
@@ -12,6 +12,12 @@ public final class AttributeUpdater {
 
     public static void apply(AttributeEntity e, AttributeValue<?> av) {
         e.addHistory(Instant.now());
+        // A patch may change the value type, so only the column of the new type keeps a value
+        e.setValueType(av.attributeType());
+        e.setValueStr(null);
+        e.setValueNum(null);
+        e.setValueBool(null);
+        e.setValueDate(null);
         av.accept(new AttributeValueVisitor<AttributeEntity>() {
             @Override public AttributeEntity visitString(String v, String name) {
                 e.setValueStr(v);
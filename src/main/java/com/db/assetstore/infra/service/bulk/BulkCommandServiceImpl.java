@@ -0,0 +1,228 @@
+package com.db.assetstore.infra.service.bulk;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.asset.AssetNotFoundException;
+import com.db.assetstore.domain.service.asset.BulkAssetCommandService;
+import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.domain.service.asset.cmd.PatchAssetCommand;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
+import com.db.assetstore.domain.service.cmd.BulkCommandException;
+import com.db.assetstore.domain.service.cmd.BulkItemResult;
+import com.db.assetstore.domain.service.cmd.CommandResult;
+import com.db.assetstore.infra.config.BulkProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.service.AssetService;
+import com.db.assetstore.infra.service.AssetTypeResolver;
+import com.db.assetstore.infra.service.bulk.BulkPreparationStage.Prepared;
+import com.db.assetstore.infra.service.bulk.BulkPreparationStage.PreparedChunk;
+import com.db.assetstore.infra.service.cmd.CommandLogService;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Chunked bulk engine: every chunk is written set-wise and committed in its own transaction,
+ * so a batch of N commands costs N / chunkSize commits instead of N.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkCommandServiceImpl implements BulkAssetCommandService {
+
+    private final AssetService assetService;
+    private final CommandLogService commandLogService;
+    private final BulkPreparationStage preparationStage;
+    private final TransactionTemplate transactionTemplate;
+    private final BulkProperties properties;
+    private final AssetTypeResolver assetTypeResolver;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public <T> List<String> createAll(@NonNull List<T> inputs,
+                                      @NonNull Function<? super T, CreateAssetCommand> toCommand) {
+        List<String> ids = new ArrayList<>(inputs.size());
+        int chunkSize = properties.chunkSize();
+        PreparedChunk<CreateAssetCommand> next = prepareCreates(inputs, 0, toCommand);
+        int chunkIndex = 0;
+        for (int from = 0; from < inputs.size(); from += chunkSize, chunkIndex++) {
+            // Validate the following chunk on the pool while this one is being written
+            PreparedChunk<CreateAssetCommand> current = next;
+            next = prepareCreates(inputs, from + chunkSize, toCommand);
+            try {
+                List<CommandResult<String>> results = inChunk(chunkIndex, from, IntUnaryOperator.identity(), () -> {
+                    List<CreateAssetCommand> chunk = requireValid(current.join());
+                    return transactionTemplate.execute(status -> createChunk(chunk));
+                });
+                results.forEach(result -> ids.add(result.result()));
+                log.debug("Bulk create chunk {} committed {} assets", chunkIndex, results.size());
+            } catch (RuntimeException e) {
+                if (next != null) {
+                    next.cancel();
+                }
+                throw e;
+            }
+        }
+        return ids;
+    }
+
+    private <T> PreparedChunk<CreateAssetCommand> prepareCreates(List<T> inputs, int from,
+                                                                  Function<? super T, CreateAssetCommand> toCommand) {
+        if (from >= inputs.size()) {
+            return null;
+        }
+        var chunk = inputs.subList(from, Math.min(from + properties.chunkSize(), inputs.size()));
+        return preparationStage.submit(chunk, toCommand);
+    }
+
+    @Override
+    public List<BulkItemResult> tryCreateAll(@NonNull List<CreateAssetCommand> commands) {
+        if (commands.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> createChunk(commands)).stream()
+                    .map(result -> BulkItemResult.created(result.result()))
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("Bulk chunk of {} items failed, retrying items one by one: {}", commands.size(), e.getMessage());
+            return commands.stream()
+                    .map(this::tryCreate)
+                    .toList();
+        }
+    }
+
+    private BulkItemResult tryCreate(CreateAssetCommand command) {
+        try {
+            var created = transactionTemplate.execute(status -> createChunk(List.of(command)));
+            return BulkItemResult.created(created.get(0).result());
+        } catch (RuntimeException e) {
+            Throwable cause = e instanceof BulkCommandException && e.getCause() != null ? e.getCause() : e;
+            return BulkItemResult.failed(NestedExceptionUtils.getMostSpecificCause(cause).getMessage());
+        }
+    }
+
+    @Override
+    public <T> void patchAll(@NonNull List<T> inputs, @NonNull Function<? super T, String> assetId,
+                             @NonNull BiFunction<AssetType, ? super T, PatchAssetCommand> toCommand) {
+        // Lock rows in a global id order so concurrent bulk jobs cannot deadlock on each other
+        List<Integer> order = IntStream.range(0, inputs.size()).boxed()
+                .sorted(Comparator.comparing(i -> assetId.apply(inputs.get(i)),
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+        int chunkSize = properties.chunkSize();
+        int chunkIndex = 0;
+        for (int from = 0; from < order.size(); from += chunkSize, chunkIndex++) {
+            var chunkOrder = order.subList(from, Math.min(from + chunkSize, order.size()));
+            var chunk = chunkOrder.stream().map(inputs::get).toList();
+            inChunk(chunkIndex, from, order::get,
+                    () -> transactionTemplate.execute(status -> patchChunk(chunk, assetId, toCommand)));
+            log.debug("Bulk patch chunk {} committed {} assets", chunkIndex, chunk.size());
+        }
+    }
+
+    private <T> List<CommandResult<Void>> patchChunk(List<T> chunk, Function<? super T, String> assetId,
+                                                     BiFunction<AssetType, ? super T, PatchAssetCommand> toCommand) {
+        List<String> ids = chunk.stream()
+                .map(assetId)
+                .filter(id -> id != null && !id.isBlank())
+                .distinct()
+                .toList();
+
+        // Commands only need the asset type, so they are built on the pool while the assets are being loaded
+        Map<String, AssetType> types = assetTypeResolver.resolveAll(ids);
+        PreparedChunk<PatchAssetCommand> prepared = preparationStage.submit(chunk, input -> {
+            String id = assetId.apply(input);
+            AssetType type = id != null ? types.get(id) : null;
+            if (type == null) {
+                throw new AssetNotFoundException(id);
+            }
+            return toCommand.apply(type, input);
+        });
+        Map<String, AssetEntity> prefetched;
+        try {
+            prefetched = assetService.findActive(ids);
+        } catch (RuntimeException e) {
+            prepared.cancel();
+            throw e;
+        }
+        List<PatchAssetCommand> commands = requireValid(prepared.join());
+
+        List<CommandResult<Void>> results = new ArrayList<>(chunk.size());
+        for (int i = 0; i < commands.size(); i++) {
+            PatchAssetCommand command = commands.get(i);
+            try {
+                AssetEntity entity = prefetched.get(command.assetId());
+                if (entity == null) {
+                    throw new AssetNotFoundException(command.assetId());
+                }
+                results.add(assetService.patch(entity, command));
+            } catch (RuntimeException e) {
+                throw BulkCommandException.forItem(i, e);
+            }
+        }
+        commandLogService.recordAll(results, commands);
+        publishChanged(results);
+        return results;
+    }
+
+    private static <R> List<R> requireValid(List<Prepared<R>> prepared) {
+        List<BulkCommandException.ItemError> errors = new ArrayList<>();
+        RuntimeException firstCause = null;
+        for (int i = 0; i < prepared.size(); i++) {
+            RuntimeException error = prepared.get(i).error();
+            if (error != null) {
+                errors.add(new BulkCommandException.ItemError(i, error.getMessage()));
+                firstCause = firstCause != null ? firstCause : error;
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw BulkCommandException.forItems(errors, firstCause);
+        }
+        return prepared.stream().map(Prepared::value).toList();
+    }
+
+    private List<CommandResult<String>> createChunk(List<CreateAssetCommand> chunk) {
+        var created = assetService.createAll(chunk);
+        commandLogService.recordAll(created, chunk);
+        publishChanged(created);
+        return created;
+    }
+
+    // Observed after the chunk commits, like the single-command path
+    private void publishChanged(List<? extends CommandResult<?>> results) {
+        List<String> changed = results.stream()
+                .filter(CommandResult::recordable)
+                .map(CommandResult::assetId)
+                .toList();
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new AssetsChangedEvent(changed));
+        }
+    }
+
+    // toBatchIndex maps a position in processing order to the item's position in the caller's batch
+    private <T> T inChunk(int chunkIndex, int chunkOffset, IntUnaryOperator toBatchIndex, Supplier<T> work) {
+        try {
+            return work.get();
+        } catch (BulkCommandException e) {
+            throw e.inChunk(chunkIndex, chunkOffset, toBatchIndex);
+        } catch (RuntimeException e) {
+            log.warn("Bulk chunk {} starting at item {} failed: {}", chunkIndex, chunkOffset, e.getMessage());
+            throw BulkCommandException.forItem(BulkCommandException.UNKNOWN_ITEM, e)
+                    .inChunk(chunkIndex, chunkOffset, toBatchIndex);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.db.assetstore.infra.service.bulk;
+
+import com.db.assetstore.infra.config.BulkProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * CPU-bound stage of the bulk pipeline: parses and validates items on a dedicated fork-join pool so the
+ * single persistence stage only ever waits for the chunk it is about to write. Callers keep at most one
+ * chunk in preparation ahead of the one being persisted, which bounds the work in flight.
+ */
+@Slf4j
+@Component
+public class BulkPreparationStage implements DisposableBean {
+
+    private final ForkJoinPool pool;
+
+    public BulkPreparationStage(BulkProperties properties) {
+        this.pool = new ForkJoinPool(properties.parallelism());
+    }
+
+    /**
+     * Starts preparing {@code items} asynchronously; results are handed back in input order.
+     */
+    public <T, R> PreparedChunk<R> submit(List<T> items, Function<? super T, ? extends R> task) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(items.size());
+        for (T item : items) {
+            futures.add(CompletableFuture.supplyAsync(() -> task.apply(item), pool));
+        }
+        return new PreparedChunk<>(futures);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Outcome of preparing one item: either the value or the exception raised for that item alone.
+     */
+    public record Prepared<R>(R value, RuntimeException error) {
+
+        public boolean success() {
+            return error == null;
+        }
+    }
+
+    public static final class PreparedChunk<R> {
+
+        private final List<CompletableFuture<R>> futures;
+
+        private PreparedChunk(List<CompletableFuture<R>> futures) {
+            this.futures = futures;
+        }
+
+        /**
+         * Waits for every item of the chunk.
+         */
+        public List<Prepared<R>> join() {
+            List<Prepared<R>> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<R> future : futures) {
+                try {
+                    results.add(new Prepared<>(future.join(), null));
+                } catch (CompletionException e) {
+                    results.add(new Prepared<>(null, unwrap(e)));
+                }
+            }
+            return results;
+        }
+
+        public void cancel() {
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        private static RuntimeException unwrap(CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            return e;
+        }
+    }
+}
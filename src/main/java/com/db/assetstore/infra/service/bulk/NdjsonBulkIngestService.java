@@ -0,0 +1,149 @@
+package com.db.assetstore.infra.service.bulk;
+
+import com.db.assetstore.domain.service.asset.BulkAssetCommandService;
+import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.domain.service.asset.cmd.factory.AssetCommandFactoryRegistry;
+import com.db.assetstore.domain.service.cmd.BulkItemResult;
+import com.db.assetstore.infra.api.dto.AssetCreateRequest;
+import com.db.assetstore.infra.api.dto.BulkLineResult;
+import com.db.assetstore.infra.config.BulkProperties;
+import com.db.assetstore.infra.service.bulk.BulkPreparationStage.Prepared;
+import com.db.assetstore.infra.service.bulk.BulkPreparationStage.PreparedChunk;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads newline-delimited {@link AssetCreateRequest}s one line at a time, executes them in chunks through
+ * {@link BulkAssetCommandService} and writes one {@link BulkLineResult} per input line as soon as its chunk
+ * has committed. Lines are parsed and validated on {@link BulkPreparationStage} one chunk ahead of the chunk
+ * being persisted, so at most two chunks are held in memory, whatever the size of the upload.
+ */
+@Slf4j
+@Service
+public class NdjsonBulkIngestService {
+
+    private final BulkAssetCommandService bulkCommandService;
+    private final AssetCommandFactoryRegistry commandFactoryRegistry;
+    private final BulkPreparationStage preparationStage;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader requestReader;
+    private final int chunkSize;
+
+    public NdjsonBulkIngestService(BulkAssetCommandService bulkCommandService,
+                                   AssetCommandFactoryRegistry commandFactoryRegistry,
+                                   BulkPreparationStage preparationStage,
+                                   ObjectMapper objectMapper,
+                                   BulkProperties properties) {
+        this.bulkCommandService = bulkCommandService;
+        this.commandFactoryRegistry = commandFactoryRegistry;
+        this.preparationStage = preparationStage;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(AssetCreateRequest.class);
+        this.chunkSize = properties.chunkSize();
+    }
+
+    /**
+     * @return number of non-blank lines processed
+     */
+    public long ingest(InputStream in, OutputStream out) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            List<Long> lineNumbers = new ArrayList<>(chunkSize);
+            List<String> lines = new ArrayList<>(chunkSize);
+            PendingChunk previous = null;
+            long lineNo = 0;
+            long processed = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                processed++;
+                lineNumbers.add(lineNo);
+                lines.add(line);
+                if (lines.size() >= chunkSize) {
+                    PendingChunk next = submit(lineNumbers, lines);
+                    lineNumbers = new ArrayList<>(chunkSize);
+                    lines = new ArrayList<>(chunkSize);
+                    if (previous != null) {
+                        previous.write(writer);
+                    }
+                    previous = next;
+                }
+            }
+            PendingChunk last = lines.isEmpty() ? null : submit(lineNumbers, lines);
+            if (previous != null) {
+                previous.write(writer);
+            }
+            if (last != null) {
+                last.write(writer);
+            }
+            return processed;
+        }
+    }
+
+    private PendingChunk submit(List<Long> lineNumbers, List<String> lines) {
+        return new PendingChunk(lineNumbers, preparationStage.submit(lines, this::toCommand));
+    }
+
+    private CreateAssetCommand toCommand(String line) {
+        try {
+            AssetCreateRequest request = requestReader.readValue(line);
+            return commandFactoryRegistry.createCreateCommand(request);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String describe(Exception e) {
+        Throwable cause = e instanceof UncheckedIOException ? e.getCause() : e;
+        return NestedExceptionUtils.getMostSpecificCause(cause).getMessage();
+    }
+
+    /**
+     * A chunk whose lines are being prepared; results are written back in the order the lines were read.
+     */
+    private final class PendingChunk {
+        private final List<Long> lineNumbers;
+        private final PreparedChunk<CreateAssetCommand> prepared;
+
+        PendingChunk(List<Long> lineNumbers, PreparedChunk<CreateAssetCommand> prepared) {
+            this.lineNumbers = lineNumbers;
+            this.prepared = prepared;
+        }
+
+        void write(SequenceWriter writer) throws IOException {
+            List<Prepared<CreateAssetCommand>> items = prepared.join();
+            List<CreateAssetCommand> commands = items.stream()
+                    .filter(Prepared::success)
+                    .map(Prepared::value)
+                    .toList();
+            List<BulkItemResult> results = bulkCommandService.tryCreateAll(commands);
+            int next = 0;
+            for (int i = 0; i < items.size(); i++) {
+                Prepared<CreateAssetCommand> item = items.get(i);
+                BulkItemResult result = item.success()
+                        ? results.get(next++)
+                        : BulkItemResult.failed(describe(item.error()));
+                writer.write(new BulkLineResult(lineNumbers.get(i), result.id(), result.error()));
+            }
+            writer.flush();
+            log.debug("Streamed results for lines {}..{}", lineNumbers.get(0), lineNumbers.get(lineNumbers.size() - 1));
+        }
+    }
+}
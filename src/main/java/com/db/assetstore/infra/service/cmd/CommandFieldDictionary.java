@@ -0,0 +1,95 @@
+package com.db.assetstore.infra.service.cmd;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Field-name dictionaries for compact command-log payloads, one per command type.
+ * Aliases are persisted, so existing entries must never change; new fields only get new aliases.
+ * Fields without an alias are stored under their full name.
+ */
+final class CommandFieldDictionary {
+
+    private static final Map<String, String> ATTRIBUTE_FIELDS = Map.of(
+            "@type", "k",
+            "name", "an",
+            "value", "av");
+
+    private static final Map<String, Map<String, String>> BY_COMMAND_TYPE = Map.of(
+            "CreateAssetCommand", with(ATTRIBUTE_FIELDS, Map.of(
+                    "id", "i",
+                    "type", "t",
+                    "status", "s",
+                    "subtype", "st",
+                    "notionalAmount", "n",
+                    "year", "y",
+                    "description", "d",
+                    "currency", "c",
+                    "attributes", "at",
+                    "executedBy", "e")),
+            "PatchAssetCommand", with(ATTRIBUTE_FIELDS, Map.of(
+                    "assetId", "a",
+                    "status", "s",
+                    "subtype", "st",
+                    "notionalAmount", "n",
+                    "year", "y",
+                    "description", "d",
+                    "currency", "c",
+                    "attributes", "at",
+                    "executedBy", "e")),
+            "DeleteAssetCommand", Map.of(
+                    "assetId", "a",
+                    "executedBy", "e"),
+            "CreateAssetLinkCommand", Map.of(
+                    "assetId", "a",
+                    "entityType", "et",
+                    "entitySubtype", "es",
+                    "targetCode", "tc",
+                    "executedBy", "e"),
+            "DeleteAssetLinkCommand", Map.of(
+                    "assetId", "a",
+                    "entityType", "et",
+                    "entitySubtype", "es",
+                    "targetCode", "tc",
+                    "executedBy", "e"));
+
+    private static final String REQUEST_TIME = "requestTime";
+    private static final String REQUEST_TIME_ALIAS = "r";
+
+    private final Map<String, String> aliases;
+    private final Map<String, String> names;
+
+    private CommandFieldDictionary(Map<String, String> aliases) {
+        this.aliases = aliases;
+        this.names = new HashMap<>();
+        aliases.forEach((name, alias) -> names.put(alias, name));
+    }
+
+    static CommandFieldDictionary forCommandType(String commandType) {
+        var aliases = new HashMap<>(BY_COMMAND_TYPE.getOrDefault(commandType, Map.of()));
+        aliases.put(REQUEST_TIME, REQUEST_TIME_ALIAS);
+        return new CommandFieldDictionary(aliases);
+    }
+
+    String alias(String name) {
+        return aliases.getOrDefault(name, name);
+    }
+
+    String name(String alias) {
+        return names.getOrDefault(alias, alias);
+    }
+
+    /**
+     * True when {@code name} has no alias of its own but collides with another field's alias,
+     * which would make the compact form ambiguous.
+     */
+    boolean clashes(String name) {
+        return !aliases.containsKey(name) && names.containsKey(name);
+    }
+
+    private static Map<String, String> with(Map<String, String> nested, Map<String, String> fields) {
+        var merged = new HashMap<>(fields);
+        merged.putAll(nested);
+        return Map.copyOf(merged);
+    }
+}
@@ -5,6 +5,7 @@ import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.infra.jpa.CommandLogEntity;
 import com.db.assetstore.infra.repository.CommandLogRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -19,25 +22,52 @@ import java.time.Instant;
 public class CommandLogService {
 
     private final CommandLogRepository commandLogRepository;
+    private final CommandPayloadCodec payloadCodec;
     private final ObjectMapper objectMapper;
 
     public void record(@NonNull CommandResult<?> result, @NonNull AssetCommand<?> command) {
-        String commandType = command.commandType();
-        String payload;
+        commandLogRepository.save(toEntity(result, command, Instant.now()));
+    }
+
+    /**
+     * Records a chunk of successful commands; {@code results} and {@code commands} are matched by position.
+     */
+    public void recordAll(@NonNull List<? extends CommandResult<?>> results,
+                          @NonNull List<? extends AssetCommand<?>> commands) {
+        if (results.size() != commands.size()) {
+            throw new IllegalArgumentException("Expected %d results but got %d"
+                    .formatted(commands.size(), results.size()));
+        }
+        Instant now = Instant.now();
+        List<CommandLogEntity> entities = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i).recordable()) {
+                entities.add(toEntity(results.get(i), commands.get(i), now));
+            }
+        }
+        commandLogRepository.saveAll(entities);
+    }
+
+    /**
+     * Decodes the stored payload of an entry for audit reads, whatever codec it was written with.
+     */
+    public JsonNode readPayload(@NonNull CommandLogEntity entry) {
         try {
-            payload = objectMapper.writeValueAsString(command);
+            return objectMapper.readTree(payloadCodec.decode(entry));
         } catch (JsonProcessingException e) {
-            log.warn("Failed to serialise {} command for asset {}", commandType, result.assetId(), e);
-            payload = String.valueOf(command);
+            throw new IllegalStateException("Command log entry %s does not hold JSON".formatted(entry.getId()), e);
         }
+    }
 
-        CommandLogEntity entity = CommandLogEntity.builder()
-                .commandType(commandType)
+    private CommandLogEntity toEntity(CommandResult<?> result, AssetCommand<?> command, Instant createdAt) {
+        CommandPayloadCodec.Encoded payload = payloadCodec.encode(command);
+        return CommandLogEntity.builder()
+                .commandType(command.commandType())
                 .assetId(result.assetId())
-                .payload(payload)
-                .createdAt(Instant.now())
+                .codec(payload.codec())
+                .payload(payload.text())
+                .payloadBin(payload.binary())
+                .createdAt(createdAt)
                 .build();
-
-        commandLogRepository.save(entity);
     }
 }
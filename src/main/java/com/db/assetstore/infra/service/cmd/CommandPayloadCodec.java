@@ -0,0 +1,138 @@
+package com.db.assetstore.infra.service.cmd;
+
+import com.db.assetstore.domain.service.cmd.AssetCommand;
+import com.db.assetstore.infra.config.CommandLogProperties;
+import com.db.assetstore.infra.jpa.CommandLogEntity;
+import com.db.assetstore.infra.jpa.PayloadCodec;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Encodes command-log payloads and decodes them back to the plain JSON written before codecs existed.
+ * The compact form renames field names token by token, so values (including exact decimals) are copied verbatim.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommandPayloadCodec {
+
+    private final ObjectMapper objectMapper;
+    private final CommandLogProperties properties;
+
+    /**
+     * Encoded payload; exactly one of {@code text} and {@code binary} is set, depending on the codec.
+     */
+    public record Encoded(PayloadCodec codec, String text, byte[] binary) {
+
+        static Encoded json(String text) {
+            return new Encoded(PayloadCodec.JSON, text, null);
+        }
+    }
+
+    public Encoded encode(@NonNull AssetCommand<?> command) {
+        String commandType = command.commandType();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(command);
+        } catch (JsonProcessingException e) {
+            log.warn("Failed to serialise {} command", commandType, e);
+            return Encoded.json(String.valueOf(command));
+        }
+        if (properties.codec() == PayloadCodec.JSON) {
+            return Encoded.json(new String(json, StandardCharsets.UTF_8));
+        }
+
+        var dictionary = CommandFieldDictionary.forCommandType(commandType);
+        byte[] compact;
+        try {
+            compact = renameFields(json, dictionary::alias, dictionary::clashes);
+        } catch (IOException e) {
+            log.warn("Failed to compact {} command payload, storing plain JSON", commandType, e);
+            compact = null;
+        }
+        if (compact == null) {
+            return Encoded.json(new String(json, StandardCharsets.UTF_8));
+        }
+        if (compact.length >= properties.deflateThreshold()) {
+            return new Encoded(PayloadCodec.COMPACT_DEFLATE, null, deflate(compact));
+        }
+        return new Encoded(PayloadCodec.COMPACT, new String(compact, StandardCharsets.UTF_8), null);
+    }
+
+    /**
+     * Returns the payload of {@code entry} as plain JSON with full field names, whatever codec it was stored with.
+     */
+    public String decode(@NonNull CommandLogEntity entry) {
+        PayloadCodec codec = entry.getCodec() != null ? entry.getCodec() : PayloadCodec.JSON;
+        try {
+            byte[] compact = switch (codec) {
+                case JSON -> null;
+                case COMPACT -> entry.getPayload().getBytes(StandardCharsets.UTF_8);
+                case COMPACT_DEFLATE -> inflate(entry.getPayloadBin());
+            };
+            if (compact == null) {
+                return entry.getPayload();
+            }
+            var dictionary = CommandFieldDictionary.forCommandType(entry.getCommandType());
+            return new String(renameFields(compact, dictionary::name, name -> false), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot decode command log entry " + entry.getId(), e);
+        }
+    }
+
+    /**
+     * Copies a JSON document replacing every field name; returns {@code null} if a name is rejected.
+     */
+    private byte[] renameFields(byte[] json, UnaryOperator<String> rename, Predicate<String> reject) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        var out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = factory.createParser(json);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            while (parser.nextToken() != null) {
+                if (parser.currentToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    if (reject.test(name)) {
+                        return null;
+                    }
+                    generator.writeFieldName(rename.apply(name));
+                } else {
+                    generator.copyCurrentEventExact(parser);
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data) {
+        var out = new ByteArrayOutputStream(data.length / 2);
+        try (var deflater = new DeflaterOutputStream(out)) {
+            deflater.write(data);
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory deflate failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data) throws IOException {
+        try (var inflater = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return inflater.readAllBytes();
+        }
+    }
+}
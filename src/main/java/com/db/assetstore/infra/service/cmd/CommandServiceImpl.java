@@ -3,6 +3,7 @@ package com.db.assetstore.infra.service.cmd;
 import com.db.assetstore.domain.service.asset.AssetCommandService;
 import com.db.assetstore.domain.service.cmd.AssetCommand;
 import com.db.assetstore.domain.service.cmd.AssetCommandVisitor;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
 import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
 import com.db.assetstore.domain.service.asset.cmd.DeleteAssetCommand;
@@ -14,9 +15,12 @@ import com.db.assetstore.infra.service.AssetService;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 
 @Slf4j
 @Service
@@ -26,17 +30,39 @@ public class CommandServiceImpl implements AssetCommandService, AssetCommandVisi
     private final AssetService assetService;
     private final AssetLinkService assetLinkService;
     private final CommandLogService commandLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public <R> CommandResult<R> execute(@NonNull AssetCommand<R> command) {
         CommandResult<R> result = command.accept(this);
-        if (result.success()) {
+        if (result.recordable()) {
             commandLogService.record(result, command);
+            eventPublisher.publishEvent(new AssetsChangedEvent(List.of(result.assetId())));
         }
         return result;
     }
 
+    // The interface defaults call execute() on this, bypassing the proxy, so the shortcuts are made transactional here
+
+    @Override
+    @Transactional
+    public String create(CreateAssetCommand command) {
+        return execute(command).result();
+    }
+
+    @Override
+    @Transactional
+    public void update(PatchAssetCommand command) {
+        execute(command);
+    }
+
+    @Override
+    @Transactional
+    public void delete(DeleteAssetCommand command) {
+        execute(command);
+    }
+
     @Override
     public CommandResult<String> visit(CreateAssetCommand command) {
         return assetService.create(command);
@@ -0,0 +1,20 @@
+package com.db.assetstore.infra.service.idempotency;
+
+import lombok.Getter;
+
+/**
+ * Raised when an {@code Idempotency-Key} cannot be honoured: the original request is still running,
+ * it failed after committing part of its changes, or the key was already used for a different request.
+ */
+@Getter
+public class IdempotencyConflictException extends RuntimeException {
+
+    public enum Reason { IN_PROGRESS, PARTIALLY_APPLIED, KEY_REUSED }
+
+    private final Reason reason;
+
+    public IdempotencyConflictException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+}
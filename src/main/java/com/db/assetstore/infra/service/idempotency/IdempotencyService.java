@@ -0,0 +1,203 @@
+package com.db.assetstore.infra.service.idempotency;
+
+import com.db.assetstore.domain.service.cmd.BulkCommandException;
+import com.db.assetstore.infra.cache.LruCache;
+import com.db.assetstore.infra.config.IdempotencyProperties;
+import com.db.assetstore.infra.jpa.IdempotencyRecordEntity;
+import com.db.assetstore.infra.jpa.IdempotencyRecordEntity.Status;
+import com.db.assetstore.infra.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Honours {@code Idempotency-Key} headers: the first request with a key reserves it, runs and stores its response;
+ * replays within the TTL get the stored response without running the commands again. Completed keys are
+ * served from a bounded in-memory cache in front of the {@code idempotency_key} table. A request that fails
+ * before writing anything releases its key; one that fails after committing some bulk chunks keeps it as
+ * {@code FAILED}, so a retry cannot apply those chunks twice.
+ */
+@Slf4j
+@Service
+public class IdempotencyService {
+
+    /**
+     * Longest accepted key, the width of {@code idempotency_key.idem_key}.
+     */
+    public static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate requiresNew;
+    private final IdempotencyProperties properties;
+    private final LruCache<String, IdempotencyRecordEntity> completed;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              IdempotencyProperties properties) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = properties;
+        this.completed = new LruCache<>(properties.cacheSize(), properties.ttl());
+    }
+
+    /**
+     * Runs {@code action} at most once per key. Without a key the action simply runs.
+     *
+     * @param scope    endpoint the key belongs to, part of the request fingerprint
+     * @param request  request payload, fingerprinted so a key cannot be reused for a different request
+     * @param bodyType type of the response body, used to rebuild a replayed response
+     */
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, TypeReference<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency key must not exceed %d characters".formatted(MAX_KEY_LENGTH));
+        }
+        String fingerprint = fingerprint(scope, request);
+
+        Optional<IdempotencyRecordEntity> stored = completed.get(key).or(() -> reserve(key, scope, fingerprint));
+        if (stored.isPresent()) {
+            return replay(stored.get(), fingerprint, bodyType);
+        }
+
+        ResponseEntity<T> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            if (e instanceof BulkCommandException bulk && bulk.getCommittedCount() > 0) {
+                fail(key);
+            } else {
+                requiresNew.executeWithoutResult(status -> repository.deleteById(key));
+            }
+            throw e;
+        }
+        complete(key, response);
+        return response;
+    }
+
+    @Scheduled(fixedDelayString = "${assetstore.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int purged = requiresNew.execute(status -> repository.deleteExpired(Instant.now()));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    /**
+     * Reserves the key with an in-progress row committed on its own; returns the existing record instead
+     * when another request already holds the key.
+     */
+    private Optional<IdempotencyRecordEntity> reserve(String key, String scope, String fingerprint) {
+        Instant now = Instant.now();
+        try {
+            return requiresNew.execute(status -> {
+                // The key is assigned, so saving merges; a live row has to be found first or it would be overwritten
+                Optional<IdempotencyRecordEntity> current = repository.findById(key);
+                if (current.isPresent() && !current.get().getExpiresAt().isBefore(now)) {
+                    return current;
+                }
+                current.ifPresent(repository::delete);
+                repository.flush();
+                repository.saveAndFlush(IdempotencyRecordEntity.builder()
+                        .key(key)
+                        .scope(scope)
+                        .fingerprint(fingerprint)
+                        .status(Status.IN_PROGRESS)
+                        .createdAt(now)
+                        .expiresAt(now.plus(properties.inProgressLease()))
+                        .build());
+                return Optional.empty();
+            });
+        } catch (DataIntegrityViolationException e) {
+            IdempotencyRecordEntity existing = repository.findById(key)
+                    .orElseThrow(() -> new IdempotencyConflictException(IdempotencyConflictException.Reason.IN_PROGRESS,
+                            "Idempotency key %s is being released, retry".formatted(key)));
+            return Optional.of(existing);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotencyRecordEntity record, String fingerprint, TypeReference<T> bodyType) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyConflictException(IdempotencyConflictException.Reason.KEY_REUSED,
+                    "Idempotency key %s was used for a different request".formatted(record.getKey()));
+        }
+        if (record.getStatus() == Status.FAILED) {
+            throw new IdempotencyConflictException(IdempotencyConflictException.Reason.PARTIALLY_APPLIED,
+                    "Request with idempotency key %s failed after committing part of its changes and is not run again"
+                            .formatted(record.getKey()));
+        }
+        if (record.getStatus() != Status.COMPLETED) {
+            throw new IdempotencyConflictException(IdempotencyConflictException.Reason.IN_PROGRESS,
+                    "Request with idempotency key %s is still being processed".formatted(record.getKey()));
+        }
+        completed.put(record.getKey(), record);
+        log.debug("Replaying stored response for idempotency key {}", record.getKey());
+        try {
+            T body = record.getResponseBody() != null ? objectMapper.readValue(record.getResponseBody(), bodyType) : null;
+            return ResponseEntity.status(record.getResponseStatus()).body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for idempotency key %s is unreadable".formatted(record.getKey()), e);
+        }
+    }
+
+    private void complete(String key, ResponseEntity<?> response) {
+        String body;
+        try {
+            body = response.getBody() != null ? objectMapper.writeValueAsString(response.getBody()) : null;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store response for idempotency key " + key, e);
+        }
+        IdempotencyRecordEntity record = requiresNew.execute(status -> {
+            IdempotencyRecordEntity reserved = repository.findById(key)
+                    .orElseThrow(() -> new IllegalStateException("Idempotency key %s lost its reservation".formatted(key)));
+            reserved.setStatus(Status.COMPLETED);
+            reserved.setResponseStatus(response.getStatusCode().value());
+            reserved.setResponseBody(body);
+            reserved.setExpiresAt(Instant.now().plus(properties.ttl()));
+            return repository.save(reserved);
+        });
+        completed.put(key, record);
+    }
+
+    private void fail(String key) {
+        requiresNew.executeWithoutResult(status -> repository.findById(key).ifPresent(reserved -> {
+            reserved.setStatus(Status.FAILED);
+            reserved.setExpiresAt(Instant.now().plus(properties.ttl()));
+            repository.save(reserved);
+        }));
+        log.warn("Idempotency key {} kept as FAILED after a partially committed request", key);
+    }
+
+    private String fingerprint(String scope, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(scope.getBytes(StandardCharsets.UTF_8));
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request for " + scope, e);
+        }
+    }
+}
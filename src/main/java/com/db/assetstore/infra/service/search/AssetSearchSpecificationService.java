@@ -1,50 +1,255 @@
 package com.db.assetstore.infra.service.search;
 
+import com.db.assetstore.domain.model.type.AttributeType;
 import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.FieldCondition;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.PageCursor;
 import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SearchExpression;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
 import com.db.assetstore.infra.jpa.search.AttributePredicateVisitor;
+import com.db.assetstore.infra.jpa.search.FieldPredicateBuilder;
 import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
-
+/**
+ * Translates {@link SearchCriteria} into a specification on assets. Attribute conditions become semi-joins, so they
+ * never multiply asset rows, and are emitted most selective first according to {@link AttributeStatisticsService}:
+ * the first one drives the query, the others are correlated {@code EXISTS} probes on the matching assets.
+ * Compound {@code AND}/{@code OR}/{@code NOT} expressions and core-field conditions are translated into the same
+ * statement. Results are ordered by the criteria's {@link SortKey} and paged by keyset on {@code (sort key, id)}.
+ */
 @Service
+@RequiredArgsConstructor
 public class AssetSearchSpecificationService {
 
+    private final AttributeStatisticsService statistics;
+
     public <T> Specification<T> buildSpec(SearchCriteria criteria) {
+        List<Condition<?>> conditions = criteria != null ? bySelectivity(criteria.conditions()) : List.of();
+        List<SearchExpression> expressions = criteria != null ? criteria.expressions() : List.of();
+        // IS_NULL is an anti-join and cannot drive the lookup
+        Condition<?> driving = conditions.stream()
+                .filter(c -> c.operator() != Operator.IS_NULL)
+                .findFirst()
+                .orElse(null);
         return (root, query, cb) -> {
             var preds = new ArrayList<Predicate>();
             preds.add(cb.equal(root.get("deleted"), 0));
 
-            if (criteria != null) {
-                if (criteria.type() != null) {
-                    preds.add(cb.equal(root.get("type"), criteria.type()));
-                }
-                var conditions = criteria.conditions();
-                if (!conditions.isEmpty()) {
-                    for (var c : conditions) {
-                        preds.add(attributeMatch(cb, root, c));
-                    }
-                }
+            if (criteria != null && criteria.type() != null) {
+                preds.add(cb.equal(root.get("type"), criteria.type()));
+            }
+            for (Condition<?> condition : conditions) {
+                preds.add(condition == driving
+                        ? drivingMatch(cb, root, query, condition)
+                        : attributeMatch(cb, root, query, condition));
+            }
+            for (SearchExpression expression : expressions) {
+                preds.add(expressionMatch(cb, root, query, expression));
             }
             return cb.and(preds.toArray(new Predicate[0]));
         };
     }
 
+    /**
+     * Orders the query by the criteria's sort key and adds no restriction. Columns pinned by equality
+     * ({@code deleted}, and {@code type} when filtered) lead the order, so the {@code (deleted, [type], key, id)}
+     * indexes return rows already sorted and a top-N query stops after N index entries.
+     */
+    public <T> Specification<T> orderedBy(SearchCriteria criteria) {
+        SortKey sort = criteria != null ? criteria.sort() : SortKey.DEFAULT;
+        boolean typed = criteria != null && criteria.type() != null;
+        return (root, query, cb) -> {
+            var hcb = (HibernateCriteriaBuilder) cb;
+            boolean desc = sort.descending();
+            var orders = new ArrayList<Order>();
+            orders.add(desc ? cb.desc(root.get("deleted")) : cb.asc(root.get("deleted")));
+            if (typed) {
+                orders.add(desc ? cb.desc(root.get("type")) : cb.asc(root.get("type")));
+            }
+            Expression<?> key = sortExpression(sort, root, query, cb);
+            // Missing values sort as the smallest ones, which matches the order of the index entries
+            orders.add(desc ? hcb.desc(key, false) : hcb.asc(key, true));
+            orders.add(desc ? cb.desc(root.get("id")) : cb.asc(root.get("id")));
+            query.orderBy(orders);
+            return null;
+        };
+    }
+
+    /**
+     * Restricts a search to the rows strictly after {@code cursor} in the {@code (sort key, id)} order of
+     * {@link #orderedBy(SearchCriteria)}, so the skipped rows are never scanned.
+     *
+     * @throws IllegalArgumentException when the cursor was produced for a different sort key type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Specification<T> after(SortKey sort, PageCursor cursor) {
+        if (cursor.key() != null && !sort.valueType().isInstance(cursor.key())) {
+            throw new IllegalArgumentException("Page cursor does not match the requested sort");
+        }
+        Comparable value = (Comparable) cursor.key();
+        boolean desc = sort.descending();
+        return (root, query, cb) -> {
+            Expression<Comparable> key = (Expression<Comparable>) sortExpression(sort, root, query, cb);
+            Path<String> id = root.get("id");
+            Predicate idAfter = desc ? cb.lessThan(id, cursor.id()) : cb.greaterThan(id, cursor.id());
+            if (value == null) {
+                Predicate sameGroup = cb.and(cb.isNull(key), idAfter);
+                return desc ? sameGroup : cb.or(sameGroup, cb.isNotNull(key));
+            }
+            Predicate keyAfter = desc ? cb.lessThan(key, value) : cb.greaterThan(key, value);
+            Predicate next = cb.or(keyAfter, cb.and(cb.equal(key, value), idAfter));
+            return desc ? cb.or(next, cb.isNull(key)) : next;
+        };
+    }
+
+    /**
+     * Value of {@code sort} for a loaded asset, as stored in the cursor of the page it ends.
+     */
+    public Object sortValue(AssetEntity asset, SortKey sort) {
+        if (sort.field() != null) {
+            return switch (sort.field()) {
+                case STATUS -> asset.getStatus();
+                case SUBTYPE -> asset.getSubtype();
+                case CURRENCY -> asset.getCurrency();
+                case NOTIONAL_AMOUNT -> asset.getNotionalAmount();
+                case YEAR -> asset.getYear();
+                case CREATED_AT -> asset.getCreatedAt();
+                case MODIFIED_AT -> asset.getModifiedAt();
+            };
+        }
+        return asset.getAttributes().stream()
+                .filter(a -> sort.attribute().equals(a.getName()))
+                .<Object>map(a -> switch (sort.attributeType()) {
+                    case STRING -> a.getValueStrNorm();
+                    case DECIMAL -> a.getValueNum();
+                    case BOOLEAN -> a.getValueBool();
+                    case DATE -> a.getValueDate();
+                })
+                .filter(Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * A field sorts on its column; an attribute on a scalar subquery over its value column, which is single-valued
+     * per asset by the {@code (asset_id, name)} unique key. Projections select it to build the page cursor
+     * without loading the sorted attribute.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> Expression<?> sortExpression(SortKey sort, Root<T> root, CriteriaQuery<?> query, CriteriaBuilder cb) {
+        if (sort.field() != null) {
+            return root.get(sort.field().property());
+        }
+        Subquery sub = query.subquery(sort.valueType());
+        Root<AttributeEntity> a = sub.from(AttributeEntity.class);
+        sub.select(a.get(valueColumn(sort.attributeType()))).where(
+                cb.equal(a.get("asset"), root),
+                cb.equal(a.get("name"), sort.attribute()));
+        return sub;
+    }
+
+    private static String valueColumn(AttributeType type) {
+        return switch (type) {
+            case STRING -> "valueStrNorm";
+            case DECIMAL -> "valueNum";
+            case BOOLEAN -> "valueBool";
+            case DATE -> "valueDate";
+        };
+    }
+
+    private List<Condition<?>> bySelectivity(List<Condition<?>> conditions) {
+        if (conditions.size() < 2) {
+            return conditions;
+        }
+        return conditions.stream()
+                .sorted(Comparator.comparingDouble(statistics::estimate))
+                .toList();
+    }
+
+    // Nested AND operands are ordered like the top level: row-level field checks first, then selective
+    // attribute leaves, compound operands last
+    private double estimate(SearchExpression expression) {
+        if (expression instanceof FieldCondition) {
+            return -1;
+        }
+        return expression instanceof Condition<?> condition ? statistics.estimate(condition) : Double.MAX_VALUE;
+    }
+
+    private <T> Predicate expressionMatch(CriteriaBuilder cb,
+                                          Root<T> root,
+                                          CriteriaQuery<?> query,
+                                          SearchExpression expression) {
+        if (expression instanceof Condition<?> condition) {
+            return attributeMatch(cb, root, query, condition);
+        }
+        if (expression instanceof FieldCondition condition) {
+            return FieldPredicateBuilder.build(cb, root, condition);
+        }
+        if (expression instanceof SearchExpression.And and) {
+            return cb.and(and.operands().stream()
+                    .sorted(Comparator.comparingDouble(this::estimate))
+                    .map(operand -> expressionMatch(cb, root, query, operand))
+                    .toArray(Predicate[]::new));
+        }
+        if (expression instanceof SearchExpression.Or or) {
+            return cb.or(or.operands().stream()
+                    .map(operand -> expressionMatch(cb, root, query, operand))
+                    .toArray(Predicate[]::new));
+        }
+        return cb.not(expressionMatch(cb, root, query, ((SearchExpression.Not) expression).operand()));
+    }
+
+    /**
+     * The most selective condition is emitted as an uncorrelated {@code id IN (...)} semi-join: it is evaluated once
+     * through the {@code (name, value_*)} index and drives the asset lookup, instead of being probed per asset.
+     */
+    private <T> Predicate drivingMatch(CriteriaBuilder cb,
+                                       Root<T> root,
+                                       CriteriaQuery<?> query,
+                                       Condition<?> cond) {
+        Subquery<String> sub = query.subquery(String.class);
+        Root<AttributeEntity> a = sub.from(AttributeEntity.class);
+        sub.select(a.get("asset").get("id")).where(
+                cb.equal(a.get("name"), cond.attribute()),
+                AttributePredicateVisitor.build(cb, a, cond));
+        return root.get("id").in(sub);
+    }
+
+    /**
+     * Correlated {@code EXISTS} probe; {@code IS_NULL} becomes {@code NOT EXISTS} over the rows carrying a value,
+     * so assets without the attribute match as well.
+     */
     private <T> Predicate attributeMatch(CriteriaBuilder cb,
                                          Root<T> root,
+                                         CriteriaQuery<?> query,
                                          Condition<?> cond) {
-        Join<Object, Object> a = root.join("attributes", JoinType.INNER);
-        List<Predicate> sp = new ArrayList<>();
-        sp.add(cb.equal(a.get("name"), cond.attribute()));
-        sp.add(AttributePredicateVisitor.build(cb, a, cond));
-        return cb.and(sp.toArray(new Predicate[0]));
+        boolean absent = cond.operator() == Operator.IS_NULL;
+        Subquery<Integer> sub = query.subquery(Integer.class);
+        Root<AttributeEntity> a = sub.from(AttributeEntity.class);
+        sub.select(cb.literal(1)).where(
+                cb.equal(a.get("asset"), root),
+                cb.equal(a.get("name"), cond.attribute()),
+                absent ? AttributePredicateVisitor.hasValue(cb, a) : AttributePredicateVisitor.build(cb, a, cond));
+        return absent ? cb.not(cb.exists(sub)) : cb.exists(sub);
     }
 }
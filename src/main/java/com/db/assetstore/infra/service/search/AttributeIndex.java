@@ -0,0 +1,359 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
+import com.db.assetstore.domain.service.type.AttributeDefinition;
+import com.db.assetstore.domain.service.type.AttributeDefinitionRegistry;
+import com.db.assetstore.infra.config.SearchIndexProperties;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory secondary index over {@code asset_attribute}. Assets get dense ordinals; per asset type and
+ * attribute name, {@link AttributePostings} map values to sorted ordinal lists. {@code EQ}/{@code IN} on any type
+ * and range operators on {@code DECIMAL}/{@code DATE} are answered by intersecting postings, and {@code LIKE} on
+ * string attributes whose definition enables {@link AttributeDefinition#textSearch() text search} by intersecting
+ * trigram postings. When the index answers every condition of a search exactly, its ids are the result as of the
+ * last refresh; otherwise they are candidates that SQL checks against the whole criteria.
+ *
+ * <p>The index is built when the application is ready and refreshed from the database for every
+ * {@link AssetsChangedEvent} after its transaction commits. Both read the database before taking the write lock,
+ * so searches only wait for the tables to be swapped or patched. Deleted assets leave the index on refresh and their
+ * ordinals are handed to the next new assets. Between a commit and its refresh, or after a refresh fails, indexed
+ * results may still reflect the asset's previous values until its next change or build.
+ */
+@Slf4j
+@Service
+public class AttributeIndex {
+
+    private static final Set<Operator> EXACT = Set.of(Operator.EQ, Operator.IN);
+    private static final Set<Operator> RANGE = Set.of(Operator.GT, Operator.GTE, Operator.LT, Operator.LTE,
+            Operator.BETWEEN);
+
+    private final EntityManager entityManager;
+    private final AttributeDefinitionRegistry definitionRegistry;
+    private final boolean enabled;
+    private final int maxCandidates;
+    // Builds and refreshes take the update lock for their database reads, so they apply in commit order, and the
+    // write lock only to swap or patch the tables; lookups hold the read lock and never wait on a query
+    private final Lock updateLock = new ReentrantLock();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Tables tables;
+
+    public AttributeIndex(EntityManager entityManager, AttributeDefinitionRegistry definitionRegistry,
+                          SearchIndexProperties properties) {
+        this.entityManager = entityManager;
+        this.definitionRegistry = definitionRegistry;
+        this.enabled = properties.enabled();
+        this.maxCandidates = properties.maxCandidates();
+    }
+
+    /**
+     * Asset ids matching the indexed conditions of a search. {@code exact} when these are all its conditions and
+     * none of them is a {@code LIKE}, whose trigram postings only yield candidates; the ids then match the whole
+     * search except for the deletion flag.
+     */
+    public record Match(List<String> assetIds, boolean exact) {
+    }
+
+    // Postings are kept per value type too, so a value column of one type never mixes with another
+    private record Key(String name, AttributeType valueType) {
+    }
+
+    private record Entry(AssetType type, Key attribute, Object value) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        if (enabled) {
+            build();
+        }
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onAssetsChanged(AssetsChangedEvent event) {
+        // Refreshes wait for a running build instead of being skipped, so no committed change is lost
+        if (enabled) {
+            refresh(event.assetIds());
+        }
+    }
+
+    /**
+     * (Re)builds the index from every live attribute row into new tables, which replace the current ones once
+     * complete; searches use SQL until the first build completes. Changes to the text search flag of attribute
+     * definitions take effect on the next build.
+     */
+    @Transactional(readOnly = true)
+    public void build() {
+        updateLock.lock();
+        try {
+            Map<AssetType, Set<String>> textSearch = new EnumMap<>(AssetType.class);
+            for (AssetType type : AssetType.values()) {
+                textSearch.put(type, definitionRegistry.getDefinitions(type).values().stream()
+                        .filter(definition -> definition.attributeType() == AttributeType.STRING)
+                        .filter(AttributeDefinition::textSearch)
+                        .map(AttributeDefinition::name)
+                        .collect(Collectors.toSet()));
+            }
+            Tables built = new Tables(textSearch);
+            try (Stream<Object[]> rows = rows(null)) {
+                rows.forEach(built::add);
+            }
+            built.seal();
+            lock.writeLock().lock();
+            try {
+                tables = built;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Attribute index built over {} assets", built.ordinals.size());
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads the attribute rows of the given assets; deleted or missing assets leave the index. Does nothing
+     * before the first build, which reads every row anyway.
+     */
+    @Transactional(readOnly = true)
+    public void refresh(Collection<String> assetIds) {
+        if (assetIds.isEmpty()) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            if (tables == null) {
+                return;
+            }
+            List<Object[]> rows;
+            try (Stream<Object[]> read = rows(assetIds)) {
+                rows = read.toList();
+            }
+            lock.writeLock().lock();
+            try {
+                assetIds.forEach(tables::remove);
+                rows.forEach(tables::add);
+                assetIds.forEach(tables::release);
+                tables.seal();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Resolves the indexable attribute conditions of {@code criteria}. Empty when the index is disabled or not
+     * built yet, when no condition is indexable, or when the match is broader than the configured candidate
+     * limit; the caller then runs the criteria in SQL.
+     */
+    public Optional<Match> lookup(SearchCriteria criteria) {
+        if (criteria == null) {
+            return Optional.empty();
+        }
+        List<Condition<?>> indexed = criteria.conditions().stream()
+                .filter(AttributeIndex::supports)
+                .toList();
+        if (indexed.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (tables == null) {
+                return Optional.empty();
+            }
+            List<int[]> matches = new ArrayList<>(indexed.size());
+            for (Condition<?> condition : indexed) {
+                int[] match = tables.match(criteria.type(), condition);
+                if (match != null) {
+                    matches.add(match);
+                }
+            }
+            if (matches.isEmpty()) {
+                return Optional.empty();
+            }
+            int[] result = PostingList.intersect(matches);
+            if (result.length > maxCandidates) {
+                return Optional.empty();
+            }
+            boolean exact = indexed.size() == criteria.conditions().size() && criteria.expressions().isEmpty()
+                    && indexed.stream().noneMatch(condition -> condition.operator() == Operator.LIKE);
+            return Optional.of(new Match(Arrays.stream(result).mapToObj(tables.ids::get).toList(), exact));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ordinals handed out so far, live or free
+    int allocatedOrdinals() {
+        lock.readLock().lock();
+        try {
+            return tables.ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean supports(Condition<?> condition) {
+        Operator operator = condition.operator();
+        if (!EXACT.contains(operator) && !RANGE.contains(operator) && operator != Operator.LIKE
+                || condition.values().stream().anyMatch(value -> value == null || value.value() == null)) {
+            return false;
+        }
+        AttributeType type = condition.value().attributeType();
+        if (operator == Operator.LIKE) {
+            return type == AttributeType.STRING && !Trigrams.ofPattern((String) condition.value().value()).isEmpty();
+        }
+        return EXACT.contains(operator) || type == AttributeType.DECIMAL || type == AttributeType.DATE;
+    }
+
+    private Stream<Object[]> rows(Collection<String> assetIds) {
+        var query = entityManager.createQuery("""
+                        select a.asset.id, a.asset.type, a.name, a.valueType,
+                               a.valueStr, a.valueNum, a.valueBool, a.valueDate
+                        from AttributeEntity a
+                        where a.asset.deleted = 0
+                        """ + (assetIds != null ? " and a.asset.id in :ids" : "") + " order by a.asset.id",
+                        Object[].class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, 1000)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (assetIds != null) {
+            query.setParameter("ids", assetIds);
+        }
+        return query.getResultStream();
+    }
+
+    /**
+     * Ordinals, postings and the entries each asset contributed to them, so a refresh can take an asset out again.
+     * Not thread-safe; built without a lock, then guarded by the index locks once published.
+     */
+    private static final class Tables {
+
+        private final Map<AssetType, Set<String>> textSearch;
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> ids = new ArrayList<>();
+        private final List<List<Entry>> entries = new ArrayList<>();
+        private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+        private final Map<AssetType, Map<Key, AttributePostings>> postings = new EnumMap<>(AssetType.class);
+
+        Tables(Map<AssetType, Set<String>> textSearch) {
+            this.textSearch = textSearch;
+        }
+
+        // Null when some asset type holding the attribute cannot answer the condition, e.g. LIKE without trigrams
+        int[] match(AssetType type, Condition<?> condition) {
+            Key key = new Key(condition.attribute(), condition.value().attributeType());
+            List<int[]> perType = new ArrayList<>();
+            for (AssetType candidate : type != null ? List.of(type) : List.of(AssetType.values())) {
+                AttributePostings attribute = postings.getOrDefault(candidate, Map.of()).get(key);
+                if (attribute != null) {
+                    int[] match = attribute.match(condition);
+                    if (match == null) {
+                        return null;
+                    }
+                    perType.add(match);
+                }
+            }
+            return PostingList.union(perType);
+        }
+
+        // Drops the postings of an asset; it keeps its ordinal until release
+        void remove(String id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null) {
+                for (Entry entry : entries.get(ordinal)) {
+                    postings.get(entry.type()).get(entry.attribute()).remove(entry.value(), ordinal);
+                }
+                entries.get(ordinal).clear();
+            }
+        }
+
+        // Frees the ordinal of an asset that no longer holds any indexed value
+        void release(String id) {
+            Integer ordinal = ordinals.get(id);
+            if (ordinal != null && entries.get(ordinal).isEmpty()) {
+                ordinals.remove(id);
+                ids.set(ordinal, null);
+                freeOrdinals.push(ordinal);
+            }
+        }
+
+        void add(Object[] row) {
+            String id = (String) row[0];
+            AssetType type = (AssetType) row[1];
+            String name = (String) row[2];
+            AttributeType valueType = (AttributeType) row[3];
+            if (valueType == null) {
+                return;
+            }
+            Object value = switch (valueType) {
+                case STRING -> (String) row[4];
+                case DECIMAL -> (BigDecimal) row[5];
+                case BOOLEAN -> (Boolean) row[6];
+                case DATE -> (Instant) row[7];
+            };
+            if (value == null) {
+                return;
+            }
+            int ordinal = ordinals.computeIfAbsent(id, this::allocate);
+            Key attribute = new Key(name, valueType);
+            Object key = AttributePostings.key(valueType, value);
+            postings.computeIfAbsent(type, ignored -> new HashMap<>())
+                    .computeIfAbsent(attribute, ignored -> new AttributePostings(valueType,
+                            textSearch.getOrDefault(type, Set.of()).contains(name)))
+                    .add(key, ordinal);
+            entries.get(ordinal).add(new Entry(type, attribute, key));
+        }
+
+        private int allocate(String id) {
+            Integer free = freeOrdinals.poll();
+            if (free != null) {
+                ids.set(free, id);
+                return free;
+            }
+            ids.add(id);
+            entries.add(new ArrayList<>());
+            return ids.size() - 1;
+        }
+
+        void seal() {
+            postings.values().forEach(byName -> byName.values().forEach(AttributePostings::seal));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Postings of one attribute of one asset type: each distinct value maps to the sorted ordinals of the assets
+ * holding it. {@code DECIMAL} and {@code DATE} attributes also keep their distinct values in a sorted array,
+ * so a range is two binary searches plus a union of the postings in between. {@code STRING} attributes defined
+ * for text search also map each {@link Trigrams trigram} of their values to ordinals, so a {@code LIKE} is an
+ * intersection of postings. Not thread-safe; guarded by {@link AttributeIndex}.
+ */
+final class AttributePostings {
+
+    private final AttributeType type;
+    private final Map<Object, PostingList> byValue = new HashMap<>();
+    private final Map<String, PostingList> byTrigram;
+    private Object[] sortedKeys;
+
+    AttributePostings(AttributeType type, boolean trigrams) {
+        this.type = type;
+        this.byTrigram = trigrams && type == AttributeType.STRING ? new HashMap<>() : null;
+    }
+
+    void add(Object key, int ordinal) {
+        byValue.computeIfAbsent(key, ignored -> {
+            sortedKeys = null;
+            return new PostingList();
+        }).add(ordinal);
+        if (byTrigram != null) {
+            for (String trigram : Trigrams.of((String) key)) {
+                byTrigram.computeIfAbsent(trigram, ignored -> new PostingList()).add(ordinal);
+            }
+        }
+    }
+
+    void remove(Object key, int ordinal) {
+        PostingList postings = byValue.get(key);
+        if (postings != null) {
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                byValue.remove(key);
+                sortedKeys = null;
+            }
+        }
+        if (byTrigram != null) {
+            for (String trigram : Trigrams.of((String) key)) {
+                PostingList withTrigram = byTrigram.get(trigram);
+                if (withTrigram != null) {
+                    withTrigram.remove(ordinal);
+                    if (withTrigram.isEmpty()) {
+                        byTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the sorted value array after modifications; called under the index write lock.
+     */
+    void seal() {
+        if (sortedKeys == null && (type == AttributeType.DECIMAL || type == AttributeType.DATE)) {
+            Object[] keys = byValue.keySet().toArray();
+            Arrays.sort(keys);
+            sortedKeys = keys;
+        }
+    }
+
+    /**
+     * Sorted ordinals of the assets matching a condition of this attribute's type that {@link AttributeIndex}
+     * supports. For {@code LIKE} these are only candidates, and {@code null} when the attribute keeps no trigrams.
+     */
+    int[] match(Condition<?> condition) {
+        return switch (condition.operator()) {
+            case EQ -> postings(key(type, condition.value().value()));
+            case IN -> PostingList.union(condition.values().stream()
+                    .map(value -> postings(key(type, value.value())))
+                    .toList());
+            case GT -> range(bound(condition, 0), false, null, false);
+            case GTE -> range(bound(condition, 0), true, null, false);
+            case LT -> range(null, false, bound(condition, 0), false);
+            case LTE -> range(null, false, bound(condition, 0), true);
+            case BETWEEN -> range(bound(condition, 0), true, bound(condition, 1), true);
+            case LIKE -> byTrigram == null ? null : candidates((String) condition.value().value());
+            default -> throw new IllegalArgumentException("Operator " + condition.operator() + " is not indexed");
+        };
+    }
+
+    /**
+     * Lookup key of a stored or searched value: strings compare case-insensitively and decimals by value,
+     * as the SQL predicates do.
+     */
+    static Object key(AttributeType type, Object value) {
+        return switch (type) {
+            case STRING -> AttributeEntity.normalize((String) value);
+            case DECIMAL -> ((BigDecimal) value).stripTrailingZeros();
+            case BOOLEAN, DATE -> value;
+        };
+    }
+
+    private Object bound(Condition<?> condition, int index) {
+        AttributeValue<?> value = condition.values().get(index);
+        return key(type, value.value());
+    }
+
+    private int[] postings(Object key) {
+        PostingList postings = byValue.get(key);
+        return postings != null ? postings.toArray() : new int[0];
+    }
+
+    // Assets holding every trigram of the pattern
+    private int[] candidates(String pattern) {
+        List<int[]> lists = new ArrayList<>();
+        for (String trigram : Trigrams.ofPattern(pattern)) {
+            PostingList postings = byTrigram.get(trigram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists.add(postings.toArray());
+        }
+        return PostingList.intersect(lists);
+    }
+
+    private int[] range(Object from, boolean fromInclusive, Object to, boolean toInclusive) {
+        int start = from == null ? 0 : boundary(from, !fromInclusive);
+        int end = to == null ? sortedKeys.length : boundary(to, toInclusive);
+        if (start >= end) {
+            return new int[0];
+        }
+        if (end - start == 1) {
+            return postings(sortedKeys[start]);
+        }
+        BitSet ordinals = new BitSet();
+        for (int i = start; i < end; i++) {
+            byValue.get(sortedKeys[i]).addTo(ordinals);
+        }
+        return ordinals.stream().toArray();
+    }
+
+    // Index of the first key greater than (after == true) or not less than (after == false) the value
+    private int boundary(Object value, boolean after) {
+        int at = Arrays.binarySearch(sortedKeys, value);
+        if (at < 0) {
+            return -at - 1;
+        }
+        return after ? at + 1 : at;
+    }
+}
@@ -0,0 +1,101 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.domain.search.Condition;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps simple per-attribute statistics (rows and distinct values per attribute name) and uses them to estimate
+ * how many assets a search condition matches. The snapshot is taken once the application is ready and refreshed
+ * periodically, never on the request path; until then, and for attributes it has not seen, every condition gets
+ * the same neutral estimate. Estimates only steer the order of predicates, so a stale snapshot never changes
+ * results.
+ */
+@Slf4j
+@Service
+public class AttributeStatisticsService {
+
+    // Fractions of an attribute's rows assumed to match when the value distribution is unknown
+    private static final double RANGE_SELECTIVITY = 1.0 / 3;
+    private static final double LIKE_SELECTIVITY = 0.25;
+    private static final double PREFIX_SELECTIVITY = 0.1;
+    private static final double BETWEEN_SELECTIVITY = RANGE_SELECTIVITY * RANGE_SELECTIVITY;
+    private static final double NULL_SELECTIVITY = 0.1;
+
+    private final EntityManager entityManager;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), 0);
+
+    public AttributeStatisticsService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public record AttributeStats(long rows, long distinctValues) {
+    }
+
+    // Unknown attributes get the mean row count, so they neither lead nor trail the known ones
+    private record Snapshot(Map<String, AttributeStats> stats, double unknownEstimate) {
+    }
+
+    /**
+     * Estimated number of attribute rows matching {@code condition}; attributes missing from the snapshot get
+     * the mean row count per attribute.
+     */
+    public double estimate(Condition<?> condition) {
+        Snapshot current = snapshot;
+        AttributeStats stats = current.stats().get(condition.attribute());
+        if (stats == null) {
+            return current.unknownEstimate();
+        }
+        Object value = condition.value() != null ? condition.value().value() : null;
+        double perValue = (double) stats.rows() / Math.max(1, stats.distinctValues());
+        return switch (condition.operator()) {
+            case EQ -> value == null ? stats.rows() * NULL_SELECTIVITY : perValue;
+            case NE -> value == null ? stats.rows() * (1 - NULL_SELECTIVITY) : Math.max(0, stats.rows() - perValue);
+            case IN -> Math.min(stats.rows(), perValue * condition.values().size());
+            case GT, GTE, LT, LTE -> stats.rows() * RANGE_SELECTIVITY;
+            case BETWEEN -> stats.rows() * BETWEEN_SELECTIVITY;
+            case LIKE -> stats.rows() * LIKE_SELECTIVITY;
+            case STARTS_WITH -> stats.rows() * PREFIX_SELECTIVITY;
+            case IS_NULL -> stats.rows() * NULL_SELECTIVITY;
+        };
+    }
+
+    public Map<String, AttributeStats> snapshot() {
+        return snapshot.stats();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${assetstore.search.statistics-refresh:PT15M}",
+            initialDelayString = "${assetstore.search.statistics-refresh:PT15M}")
+    public void refresh() {
+        List<Object[]> rows = entityManager.createQuery("""
+                        select a.name, count(a),
+                               count(distinct a.valueStr) + count(distinct a.valueNum)
+                               + count(distinct a.valueBool) + count(distinct a.valueDate)
+                        from AttributeEntity a
+                        group by a.name
+                        """, Object[].class)
+                .getResultList();
+        Map<String, AttributeStats> collected = new HashMap<>(rows.size());
+        long totalRows = 0;
+        for (Object[] row : rows) {
+            AttributeStats stats = new AttributeStats(((Number) row[1]).longValue(), ((Number) row[2]).longValue());
+            collected.put((String) row[0], stats);
+            totalRows += stats.rows();
+        }
+        snapshot = new Snapshot(Map.copyOf(collected), collected.isEmpty() ? 0 : (double) totalRows / collected.size());
+        log.debug("Collected statistics for {} attributes", collected.size());
+    }
+}
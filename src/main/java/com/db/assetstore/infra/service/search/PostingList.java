@@ -0,0 +1,122 @@
+package com.db.assetstore.infra.service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted, duplicate-free list of asset ordinals backed by a primitive array. Appending a larger ordinal, the
+ * common case while the index is built in ordinal order, is amortised constant time.
+ */
+final class PostingList {
+
+    private static final int[] EMPTY = new int[0];
+
+    private int[] ordinals = EMPTY;
+    private int size;
+
+    void add(int ordinal) {
+        if (size > 0 && ordinals[size - 1] >= ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                return;
+            }
+            insert(-at - 1, ordinal);
+            return;
+        }
+        insert(size, ordinal);
+    }
+
+    void remove(int ordinal) {
+        int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (at >= 0) {
+            System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+            size--;
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(ordinals, size);
+    }
+
+    void addTo(BitSet target) {
+        for (int i = 0; i < size; i++) {
+            target.set(ordinals[i]);
+        }
+    }
+
+    private void insert(int at, int ordinal) {
+        if (size == ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, Math.max(4, size * 2));
+        }
+        System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+        ordinals[at] = ordinal;
+        size++;
+    }
+
+    /**
+     * Union of sorted ordinal arrays, as a sorted array.
+     */
+    static int[] union(List<int[]> lists) {
+        if (lists.isEmpty()) {
+            return EMPTY;
+        }
+        if (lists.size() == 1) {
+            return lists.get(0);
+        }
+        BitSet all = new BitSet();
+        for (int[] list : lists) {
+            for (int ordinal : list) {
+                all.set(ordinal);
+            }
+        }
+        return all.stream().toArray();
+    }
+
+    /**
+     * Intersection of one or more sorted ordinal arrays, shortest first so each step probes the smallest set.
+     */
+    static int[] intersect(List<int[]> lists) {
+        List<int[]> bySize = new ArrayList<>(lists);
+        bySize.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = bySize.get(0);
+        for (int i = 1; i < bySize.size() && result.length > 0; i++) {
+            result = intersect(result, bySize.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Intersection of two sorted ordinal arrays; the shorter one drives binary probes into the longer one.
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] small = a.length <= b.length ? a : b;
+        int[] large = small == a ? b : a;
+        int[] out = new int[small.length];
+        int count = 0;
+        int from = 0;
+        for (int ordinal : small) {
+            int at = Arrays.binarySearch(large, from, large.length, ordinal);
+            if (at >= 0) {
+                out[count++] = ordinal;
+                from = at + 1;
+            } else {
+                from = -at - 1;
+                if (from == large.length) {
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(out, count);
+    }
+}
@@ -0,0 +1,61 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.infra.jpa.AttributeEntity;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Three-character substrings of normalised string values and of {@code LIKE} patterns. Every value matching a
+ * pattern contains all trigrams of the pattern's literal runs, so intersecting their postings yields a superset
+ * of the matches that SQL then verifies.
+ */
+final class Trigrams {
+
+    private static final int LENGTH = 3;
+    // H2's default LIKE escape, which AttributePredicateVisitor leaves in place for user patterns
+    private static final char ESCAPE = '\\';
+
+    private Trigrams() {
+    }
+
+    /**
+     * Distinct trigrams of an already normalised value.
+     */
+    static Set<String> of(String value) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        collect(value, trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Distinct trigrams of the literal runs between the {@code %} and {@code _} wildcards of a {@code LIKE} term,
+     * read the way {@code AttributePredicateVisitor} reads it: a term without wildcards is a substring match, and
+     * a wildcard or backslash escaped with a backslash is a literal character of its run.
+     * Empty when no run is long enough to narrow the search.
+     */
+    static Set<String> ofPattern(String pattern) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        String normalized = AttributeEntity.normalize(pattern);
+        StringBuilder run = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c == ESCAPE && i + 1 < normalized.length()) {
+                run.append(normalized.charAt(++i));
+            } else if (c == '%' || c == '_') {
+                collect(run.toString(), trigrams);
+                run.setLength(0);
+            } else {
+                run.append(c);
+            }
+        }
+        collect(run.toString(), trigrams);
+        return trigrams;
+    }
+
+    private static void collect(String text, Set<String> target) {
+        for (int i = 0; i + LENGTH <= text.length(); i++) {
+            target.add(text.substring(i, i + LENGTH));
+        }
+    }
+}
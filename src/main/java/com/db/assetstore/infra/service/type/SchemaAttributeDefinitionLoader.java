@@ -50,7 +50,8 @@ public class SchemaAttributeDefinitionLoader implements AttributeDefinitionLoade
             var name = entry.getKey();
             var definitionNode = entry.getValue();
             var attributeType = readAttributeType(definitionNode);
-            var attributeDefinition = new AttributeDefinition(assetType, name, attributeType);
+            var attributeDefinition = new AttributeDefinition(assetType, name, attributeType,
+                    attributeType == AttributeType.STRING && readTextSearch(definitionNode));
             definitions.put(name, attributeDefinition);
 
             var attributeConstraints = new ArrayList<ConstraintDefinition>();
@@ -103,6 +104,14 @@ public class SchemaAttributeDefinitionLoader implements AttributeDefinitionLoade
         };
     }
 
+    private static boolean readTextSearch(JsonNode definitionNode) {
+        if (definitionNode == null || !definitionNode.isObject()) {
+            return false;
+        }
+        var textSearch = definitionNode.get("x-textSearch");
+        return textSearch != null && textSearch.asBoolean(false);
+    }
+
     private static Optional<String> readMinMaxRule(JsonNode definitionNode) {
         if (definitionNode == null || !definitionNode.isObject()) {
             return Optional.empty();
@@ -9,14 +9,21 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -201,6 +208,56 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    void createBulkAssetsReportsEveryInvalidItem() throws Exception {
+        String payload = """
+                [
+                    {"id": "bulk-invalid-1", "type": "CRE", "attributes": {"rooms": "many"}},
+                    {"id": "bulk-valid-1", "type": "CRE", "attributes": {"city": "Rome"}},
+                    {"id": "bulk-invalid-2", "type": "CRE", "attributes": {"rooms": "few"}}
+                ]
+                """;
+
+        mockMvc.perform(post("/assets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("item 0:")))
+                .andExpect(jsonPath("$.message", containsString("item 2:")));
+
+        mockMvc.perform(get("/assets/bulk-valid-1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void createBulkAssetsStreamReportsEveryLine() throws Exception {
+        String payload = """
+                {"id":"stream-cre-1","type":"CRE","attributes":{"city":"Oslo","rooms":4}}
+                {"id":"stream-cre-2","type":
+                
+                {"id":"stream-cre-1","type":"CRE","attributes":{"city":"Bergen"}}
+                {"id":"stream-ship-1","type":"SHIP","attributes":{"name":"Nordic Star"}}
+                """;
+
+        MvcResult result = mockMvc.perform(post("/assets/bulk/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("{\"line\":1,\"id\":\"stream-cre-1\"}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"line\":2,\"error\":"), lines[1]);
+        assertTrue(lines[2].startsWith("{\"line\":4,\"error\":"), lines[2]);
+        assertEquals("{\"line\":5,\"id\":\"stream-ship-1\"}", lines[3]);
+
+        mockMvc.perform(get("/assets/stream-cre-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attributes.city", is("Oslo")));
+    }
+
     @Test
     void listAssetsReturnsAllWithProperStructure() throws Exception {
         String cre = """
@@ -244,6 +301,40 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$", isA(java.util.List.class)));
     }
 
+    @Test
+    void getAssetReturnsOnlyRequestedFields() throws Exception {
+        mockMvc.perform(post("/assets").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"id": "fields-1", "type": "CRE", "status": "ACTIVE", "currency": "USD",
+                         "description": "not wanted", "executedBy": "tester",
+                         "attributes": {"city": "Sparse", "rooms": 3}}
+                        """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/assets/fields-1").param("fields", "id,status,attributes.city"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("fields-1")))
+                .andExpect(jsonPath("$.status", is("ACTIVE")))
+                .andExpect(jsonPath("$.attributes.city", is("Sparse")))
+                .andExpect(jsonPath("$.attributes.rooms").doesNotExist())
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.softDelete").doesNotExist())
+                .andExpect(jsonPath("$.type").doesNotExist());
+
+        mockMvc.perform(post("/assets/search").param("fields", "currency")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"attribute": "city", "op": "EQ", "value": "Sparse"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].currency", is("USD")))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].attributes").doesNotExist());
+
+        mockMvc.perform(get("/assets/fields-1").param("fields", "id,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAssetReturnsFullAssetData() throws Exception {
         String payload = """
@@ -277,6 +368,80 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$.attributes.active", is(false)));
     }
 
+    @Test
+    void getAsset_servesCachedResponseUntilAssetChanges() throws Exception {
+        String payload = """
+                {
+                    "id": "cache-test-1",
+                    "type": "CRE",
+                    "status": "DRAFT",
+                    "executedBy": "tester",
+                    "attributes": {
+                        "city": "Oslo",
+                        "rooms": 3
+                    }
+                }
+                """;
+
+        mockMvc.perform(post("/assets").contentType(MediaType.APPLICATION_JSON).content(payload))
+                .andExpect(status().isOk());
+
+        String first = mockMvc.perform(get("/assets/cache-test-1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/assets/cache-test-1"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(first));
+
+        mockMvc.perform(patch("/assets/cache-test-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"executedBy": "updater", "attributes": {"rooms": 4}}
+                                """))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/assets/cache-test-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attributes.rooms", is(4)));
+
+        mockMvc.perform(get("/admin/caches"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assetResponses.hits", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.assetResponses.misses", greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.assetResponses.evictions", isA(Integer.class)));
+    }
+
+    @Test
+    void getAsset_answersNotModifiedWhileVersionIsUnchanged() throws Exception {
+        mockMvc.perform(post("/assets").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"id": "etag-test-1", "type": "CRE", "executedBy": "tester", "attributes": {"city": "Bergen"}}
+                        """))
+                .andExpect(status().isOk());
+
+        String etag = mockMvc.perform(get("/assets/etag-test-1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/assets/etag-test-1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(emptyString()));
+        mockMvc.perform(get("/assets/etag-test-1").param("fields", "status").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/assets/etag-test-1").contentType(MediaType.APPLICATION_JSON).content("""
+                        {"status": "ACTIVE", "executedBy": "updater"}
+                        """))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/assets/etag-test-1").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$.status", is("ACTIVE")));
+    }
+
     @Test
     void getAssetNonExistentId() throws Exception {
         mockMvc.perform(get("/assets/non-existent-id"))
@@ -580,4 +745,360 @@ class AssetControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void createAsset_withIdempotencyKey_replaysStoredResponse() throws Exception {
+        String payload = """
+                {
+                    "type": "CRE",
+                    "status": "ACTIVE",
+                    "currency": "USD",
+                    "executedBy": "tester",
+                    "attributes": { "city": "Oslo" }
+                }
+                """;
+
+        String firstId = mockMvc.perform(post("/assets")
+                        .header("Idempotency-Key", "create-oslo-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String replayedId = mockMvc.perform(post("/assets")
+                        .header("Idempotency-Key", "create-oslo-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(firstId, replayedId);
+    }
+
+    @Test
+    void createAsset_reusedIdempotencyKeyWithDifferentBody_returns422() throws Exception {
+        String payload = """
+                {
+                    "type": "CRE",
+                    "status": "ACTIVE",
+                    "currency": "USD",
+                    "executedBy": "tester",
+                    "attributes": { "city": "%s" }
+                }
+                """;
+
+        mockMvc.perform(post("/assets")
+                        .header("Idempotency-Key", "create-reused-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload.formatted("Bergen")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/assets")
+                        .header("Idempotency-Key", "create-reused-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload.formatted("Trondheim")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createAsset_withOverlongIdempotencyKey_returns400() throws Exception {
+        mockMvc.perform(post("/assets")
+                        .header("Idempotency-Key", "k".repeat(129))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "status": "ACTIVE", "executedBy": "tester", "attributes": { "city": "Oslo" }}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createAsset_withExistingId_returns409() throws Exception {
+        String payload = """
+                {
+                    "id": "controller-dup-1",
+                    "type": "CRE",
+                    "status": "ACTIVE",
+                    "currency": "USD",
+                    "executedBy": "tester",
+                    "attributes": { "city": "Krakow" }
+                }
+                """;
+
+        mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(content().string("controller-dup-1"));
+
+        mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void listAssets_pagesWithOpaqueCursor() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/assets")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"type": "CRE", "status": "ACTIVE", "currency": "USD", "executedBy": "tester",
+                                     "attributes": { "city": "Page %d" }}
+                                    """.formatted(i)))
+                    .andExpect(status().isOk());
+        }
+
+        MvcResult first = mockMvc.perform(get("/assets").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        mockMvc.perform(get("/assets")
+                        .param("limit", "2")
+                        .param("cursor", first.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThanOrEqualTo(1))));
+
+        mockMvc.perform(get("/assets").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchAssets_evaluatesFilterTree() throws Exception {
+        for (String city : List.of("Search Alpha", "Search Beta", "Elsewhere")) {
+            mockMvc.perform(post("/assets")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"type": "CRE", "status": "ACTIVE", "currency": "USD", "executedBy": "tester",
+                                     "attributes": { "city": "%s", "rooms": 3 }}
+                                    """.formatted(city)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/assets/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "filter": {"and": [
+                                  {"attribute": "city", "op": "STARTS_WITH", "value": "search "},
+                                  {"not": {"attribute": "city", "op": "EQ", "value": "Search Beta"}},
+                                  {"attribute": "rooms", "op": "IN", "values": [2, 3]}
+                                ]}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].attributes.city", contains("Search Alpha")));
+
+        mockMvc.perform(post("/assets/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"filter": {"attribute": "nope", "op": "EQ", "value": 1}}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchAssets_filtersOnFieldsAndSorts() throws Exception {
+        for (int amount : new int[] {200, 300, 100}) {
+            mockMvc.perform(post("/assets")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"type": "CRE", "status": "ACTIVE", "currency": "CHF", "notionalAmount": %d,
+                                     "executedBy": "tester", "attributes": { "city": "Sorted" }}
+                                    """.formatted(amount)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/assets/search")
+                        .param("limit", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE",
+                                 "filter": {"field": "currency", "op": "EQ", "value": "CHF"},
+                                 "sort": {"field": "notionalAmount", "direction": "DESC"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].notionalAmount", contains(300, 200)))
+                .andExpect(header().exists("X-Next-Cursor"));
+    }
+
+    @Test
+    void aggregateAssets_returnsGroupedMetrics() throws Exception {
+        for (int amount : new int[] {10, 20, 30}) {
+            mockMvc.perform(post("/assets")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"type": "CRE", "status": "ACTIVE", "currency": "NOK", "notionalAmount": %d,
+                                     "executedBy": "tester", "attributes": { "city": "Aggregated", "area": %d }}
+                                    """.formatted(amount, amount * 10)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/assets/aggregate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE",
+                                 "filter": {"field": "currency", "op": "EQ", "value": "NOK"},
+                                 "groupBy": [{"field": "currency"}, {"attribute": "city"}],
+                                 "metrics": [{"function": "COUNT"},
+                                             {"function": "SUM", "field": "notionalAmount"},
+                                             {"function": "MAX", "attribute": "area"}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].group.currency", is("NOK")))
+                .andExpect(jsonPath("$[0].group.city", is("Aggregated")))
+                .andExpect(jsonPath("$[0].metrics.count", is(3)))
+                .andExpect(jsonPath("$[0].metrics.sum_notionalAmount", is(60)))
+                .andExpect(jsonPath("$[0].metrics.max_area", is(300)));
+
+        mockMvc.perform(post("/assets/aggregate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "metrics": [{"function": "SUM", "attribute": "city"}]}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void facetAssets_returnsTopValuesPerAttribute() throws Exception {
+        String[][] assets = {{"Faceted-A", "120"}, {"Faceted-A", "180"}, {"Faceted-B", "250"}};
+        for (String[] asset : assets) {
+            mockMvc.perform(post("/assets")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"type": "CRE", "status": "ACTIVE", "currency": "SEK", "executedBy": "tester",
+                                     "attributes": { "city": "%s", "area": %s }}
+                                    """.formatted(asset[0], asset[1])))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/assets/facets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE",
+                                 "filter": {"field": "currency", "op": "EQ", "value": "SEK"},
+                                 "facets": [{"attribute": "city"}, {"attribute": "area", "bucket": 100}],
+                                 "size": 1}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.city", hasSize(1)))
+                .andExpect(jsonPath("$.city[0].value", is("Faceted-A")))
+                .andExpect(jsonPath("$.city[0].count", is(2)))
+                .andExpect(jsonPath("$.area[0].value", is(100)))
+                .andExpect(jsonPath("$.area[0].count", is(2)));
+
+        mockMvc.perform(post("/assets/facets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "facets": [{"attribute": "city", "bucket": "MONTHS"}]}
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamSearchAssets_writesJsonArrayOfMatchingAssets() throws Exception {
+        for (String city : List.of("Streamed", "Not streamed")) {
+            mockMvc.perform(post("/assets")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {"type": "CRE", "status": "ACTIVE", "currency": "USD", "executedBy": "tester",
+                                     "attributes": { "city": "%s" }}
+                                    """.formatted(city)))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(post("/assets/search/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "filter": {"attribute": "city", "op": "EQ", "value": "Streamed"}}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].attributes.city", is("Streamed")));
+    }
+
+    @Test
+    void getAsset_withIdStream_isNotShadowedByStreamingEndpoint() throws Exception {
+        mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id": "stream", "type": "CRE", "status": "ACTIVE", "executedBy": "tester",
+                                 "attributes": { "city": "Streamed" }}
+                                """))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/assets/stream"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is("stream")));
+    }
+
+    @Test
+    void batchGetAssets_returnsResultsInRequestOrderWithNotFoundMarkers() throws Exception {
+        String id = mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "status": "ACTIVE", "currency": "USD", "executedBy": "tester",
+                                 "attributes": { "city": "Batched" }}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String request = """
+                {"ids": ["no-such-asset", "%s"]}
+                """.formatted(id);
+
+        mockMvc.perform(post("/assets/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value("no-such-asset"))
+                .andExpect(jsonPath("$[0].error").value("NOT_FOUND"))
+                .andExpect(jsonPath("$[1].id").value(id))
+                .andExpect(jsonPath("$[1].asset.attributes.city").value("Batched"))
+                .andExpect(jsonPath("$[1].error").doesNotExist());
+
+        String streamed = mockMvc.perform(post("/assets/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = streamed.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"error\":\"NOT_FOUND\""));
+        assertTrue(lines[1].contains("\"city\":\"Batched\""));
+    }
+
+    @Test
+    void batchGetAssets_aboveMaxPageSize_requiresNdjson() throws Exception {
+        String request = """
+                {"ids": [%s]}
+                """.formatted(IntStream.range(0, 501)
+                .mapToObj(i -> "\"missing-" + i + "\"")
+                .collect(Collectors.joining(",")));
+
+        mockMvc.perform(post("/assets/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(request))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString(MediaType.APPLICATION_NDJSON_VALUE)));
+
+        String streamed = mockMvc.perform(post("/assets/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(501, streamed.split("\n").length);
+    }
+
+    @Test
+    void batchGetAssets_withNullId_returnsBadRequest() throws Exception {
+        mockMvc.perform(post("/assets/batch-get")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [null]}"))
+                .andExpect(status().isBadRequest());
+    }
+
 }
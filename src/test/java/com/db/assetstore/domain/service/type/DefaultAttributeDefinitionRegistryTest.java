@@ -0,0 +1,55 @@
+package com.db.assetstore.domain.service.type;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.service.type.AttributeDefinitionLoader.AttributeDefinitions;
+import com.db.assetstore.domain.service.type.ConstraintDefinition.Rule;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.annotation.Order;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DefaultAttributeDefinitionRegistryTest {
+
+    @Test
+    void keepsTextSearchOfEarlierLoaderWithoutMutatingTheLoadedDefinition() {
+        var schemaNotes = new AttributeDefinition(AssetType.CRE, "notes", AttributeType.STRING, true);
+        var databaseNotes = new AttributeDefinition(AssetType.CRE, "notes", AttributeType.STRING, false);
+        var registry = new DefaultAttributeDefinitionRegistry(new ArrayList<>(List.of(
+                new SchemaLoader(schemaNotes),
+                new DatabaseLoader(databaseNotes))));
+
+        AttributeDefinition merged = registry.getDefinitions(AssetType.CRE).get("notes");
+
+        assertThat(merged.textSearch()).isTrue();
+        assertThat(databaseNotes.textSearch()).isFalse();
+        assertThat(registry.getConstraints(AssetType.CRE).get("notes"))
+                .extracting(ConstraintDefinition::attribute)
+                .containsExactly(merged);
+    }
+
+    private static AttributeDefinitions single(AttributeDefinition definition) {
+        return new AttributeDefinitions(Map.of(definition.name(), definition),
+                Map.of(definition.name(), List.of(new ConstraintDefinition(definition, Rule.TYPE, null))));
+    }
+
+    @Order(1)
+    private record SchemaLoader(AttributeDefinition definition) implements AttributeDefinitionLoader {
+        @Override
+        public AttributeDefinitions load(AssetType type) {
+            return single(definition);
+        }
+    }
+
+    @Order(2)
+    private record DatabaseLoader(AttributeDefinition definition) implements AttributeDefinitionLoader {
+        @Override
+        public AttributeDefinitions load(AssetType type) {
+            return single(definition);
+        }
+    }
+}
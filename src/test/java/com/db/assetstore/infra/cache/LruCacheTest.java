@@ -0,0 +1,72 @@
+package com.db.assetstore.infra.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        LruCache<String, Integer> cache = new LruCache<>(2, Duration.ofMinutes(1));
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(Optional.of(1), cache.get("a"));
+        assertTrue(cache.get("b").isEmpty());
+        assertEquals(Optional.of(3), cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void expiresEntriesAfterTtl() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        LruCache<String, Integer> cache = new LruCache<>(10, Duration.ofSeconds(30), clock);
+        cache.put("a", 1);
+
+        clock.advance(Duration.ofSeconds(29));
+        assertEquals(Optional.of(1), cache.get("a"));
+
+        clock.advance(Duration.ofSeconds(2));
+        assertTrue(cache.get("a").isEmpty());
+        assertEquals(0, cache.size());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -135,6 +135,44 @@ class AttributePredicateVisitorDataTest {
         assertThat(lt).extracting(AssetEntity::getId).containsExactly("asset-yesterday");
     }
 
+    @Test
+    void matchesStringPrefixWithWildcardsTakenLiterally() {
+        AssetEntity literal = newAsset("asset-literal");
+        literal.getAttributes().add(new AttributeEntity(literal, "CODE", "50%_OFF", NOW));
+        entityManager.persist(literal);
+
+        AssetEntity other = newAsset("asset-other");
+        other.getAttributes().add(new AttributeEntity(other, "CODE", "500-OFF", NOW));
+        entityManager.persist(other);
+        entityManager.flush();
+
+        Condition<String> condition = new Condition<>("CODE", Operator.STARTS_WITH, AVString.of("CODE", "50%_o"));
+
+        List<AssetEntity> found = executeAttributeSearch(condition);
+
+        assertThat(found).extracting(AssetEntity::getId).containsExactly("asset-literal");
+    }
+
+    @Test
+    void matchesDecimalWithBetweenAndIn() {
+        for (int amount : new int[] {10, 20, 30}) {
+            AssetEntity asset = newAsset("asset-amount-" + amount);
+            asset.getAttributes().add(new AttributeEntity(asset, "AMOUNT", BigDecimal.valueOf(amount), NOW));
+            entityManager.persist(asset);
+        }
+        entityManager.flush();
+
+        List<AssetEntity> between = executeAttributeSearch(new Condition<>("AMOUNT", Operator.BETWEEN,
+                List.of(AVDecimal.of("AMOUNT", 15), AVDecimal.of("AMOUNT", 30))));
+        List<AssetEntity> in = executeAttributeSearch(new Condition<>("AMOUNT", Operator.IN,
+                List.of(AVDecimal.of("AMOUNT", 10), AVDecimal.of("AMOUNT", 30))));
+
+        assertThat(between).extracting(AssetEntity::getId)
+                .containsExactlyInAnyOrder("asset-amount-20", "asset-amount-30");
+        assertThat(in).extracting(AssetEntity::getId)
+                .containsExactlyInAnyOrder("asset-amount-10", "asset-amount-30");
+    }
+
     private AssetEntity newAsset(String id) {
         return AssetEntity.builder()
                 .id(id)
@@ -0,0 +1,64 @@
+package com.db.assetstore.infra.jpa;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AttributeValueIndexDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void maintainsNormalisedShadowColumnOnWrite() {
+        AssetEntity asset = AssetEntity.builder()
+                .id("norm-1")
+                .type(AssetType.CRE)
+                .createdAt(NOW)
+                .build();
+        AttributeEntity color = new AttributeEntity(asset, "COLOR", "Blue", NOW);
+        asset.getAttributes().add(color);
+        entityManager.persist(asset);
+        entityManager.flush();
+
+        assertThat(storedNorm(color.getId())).isEqualTo("blue");
+
+        color.setValueStr("GrEeN");
+        entityManager.flush();
+
+        assertThat(storedNorm(color.getId())).isEqualTo("green");
+    }
+
+    @Test
+    void attributePredicatesAreServedByNameValueIndexes() {
+        assertThat(plan("select asset_id from asset_attribute where name = 'city' and value_str_norm = 'oslo'"))
+                .containsIgnoringCase("idx_attr_name_str_norm");
+        assertThat(plan("select asset_id from asset_attribute where name = 'city' and value_str_norm like 'os%'"))
+                .containsIgnoringCase("idx_attr_name_str_norm");
+        assertThat(plan("select asset_id from asset_attribute where name = 'rooms' and value_num > 10"))
+                .containsIgnoringCase("idx_attr_name_num");
+        assertThat(plan("select asset_id from asset_attribute where name = 'built' and value_date < timestamp '2020-01-01 00:00:00'"))
+                .containsIgnoringCase("idx_attr_name_date");
+        assertThat(plan("select asset_id from asset_attribute where name = 'active' and value_bool = true"))
+                .containsIgnoringCase("idx_attr_name_bool");
+    }
+
+    private String storedNorm(Long attributeId) {
+        return (String) entityManager.createNativeQuery("select value_str_norm from asset_attribute where id = ?1")
+                .setParameter(1, attributeId)
+                .getSingleResult();
+    }
+
+    private String plan(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("explain " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,67 @@
+package com.db.assetstore.infra.jpa;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Migrates a database that already holds IDENTITY-generated rows and checks that the pooled sequences
+ * hand out ids past them.
+ */
+class IdSequenceMigrationTest {
+
+    private static final String CHANGELOG = "db/changelog/changelog-master.xml";
+    private static final int IDENTITY_CHANGESETS = 11;
+
+    @Test
+    void sequencesStartPastIdentityIdsAndIdentityIsDropped() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:id-sequence-migration;DB_CLOSE_DELAY=-1");
+             Statement statement = connection.createStatement()) {
+            Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(),
+                    new JdbcConnection(connection));
+            liquibase.update(IDENTITY_CHANGESETS, new Contexts(), new LabelExpression());
+            statement.execute("insert into assets (id, type) values ('a-1', 'CRE')");
+            for (int i = 0; i < 120; i++) {
+                statement.execute("insert into asset_attribute (asset_id, name) values ('a-1', 'attr-" + i + "')");
+            }
+            statement.execute("insert into command_log (command_type, payload, created_at) "
+                    + "values ('CREATE', '{}', current_timestamp)");
+
+            liquibase.update(new Contexts(), new LabelExpression());
+
+            // Lowest id of the first pooled block is the value read minus (allocationSize - 1)
+            assertThat(nextValue(statement, "asset_attribute_seq") - 49).isGreaterThan(max(statement, "asset_attribute"));
+            assertThat(nextValue(statement, "command_log_seq") - 49).isGreaterThan(max(statement, "command_log"));
+            assertThat(nextValue(statement, "asset_link_seq") - 49).isEqualTo(1);
+            assertThatThrownBy(() -> statement.execute(
+                    "insert into asset_attribute (asset_id, name) values ('a-1', 'no-id')"))
+                    .isInstanceOf(SQLException.class);
+        }
+    }
+
+    private static long nextValue(Statement statement, String sequence) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("select next value for " + sequence)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long max(Statement statement, String table) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("select max(id) from " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
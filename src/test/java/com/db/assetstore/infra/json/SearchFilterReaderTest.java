@@ -0,0 +1,148 @@
+package com.db.assetstore.infra.json;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AssetField;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Facet;
+import com.db.assetstore.domain.search.FacetQuery;
+import com.db.assetstore.domain.search.FieldCondition;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SearchExpression;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.domain.service.type.AttributeDefinitionRegistry;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.json.reader.AttributeParsingException;
+import com.db.assetstore.infra.json.reader.AttributeValueAssembler;
+import com.db.assetstore.infra.json.reader.SearchFilterReader;
+import com.db.assetstore.testutil.InMemoryAttributeDefinitionLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.db.assetstore.domain.service.type.ConstraintDefinition.Rule.TYPE;
+import static com.db.assetstore.testutil.AttributeTestHelpers.constraint;
+import static com.db.assetstore.testutil.AttributeTestHelpers.definition;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchFilterReaderTest {
+
+    private final ObjectMapper objectMapper = new JsonMapperProvider().objectMapper();
+    private SearchFilterReader reader;
+
+    @BeforeEach
+    void setUp() {
+        var city = definition(AssetType.CRE, "city", AttributeType.STRING);
+        var area = definition(AssetType.CRE, "area", AttributeType.DECIMAL);
+        var start = definition(AssetType.CRE, "start", AttributeType.DATE);
+
+        AttributeDefinitionRegistry registry = InMemoryAttributeDefinitionLoader.builder()
+                .withAttribute(city, constraint(city, TYPE))
+                .withAttribute(area, constraint(area, TYPE))
+                .withAttribute(start, constraint(start, TYPE))
+                .buildRegistry();
+
+        reader = new SearchFilterReader(registry, new AttributeValueAssembler(registry));
+    }
+
+    @Test
+    void readsTreeWithValuesTypedByDefinitions() throws Exception {
+        var filter = objectMapper.readTree("""
+                {"and": [
+                  {"attribute": "area", "op": "between", "values": [10, "20.5"]},
+                  {"or": [
+                    {"attribute": "city", "op": "IN", "values": ["Oslo", "Rome"]},
+                    {"not": {"attribute": "start", "op": "GTE", "value": "2024-01-01T00:00:00Z"}}
+                  ]},
+                  {"attribute": "city", "op": "IS_NULL"}
+                ]}
+                """);
+
+        SearchCriteria criteria = reader.read(null, filter, null);
+
+        assertThat(criteria.conditions()).hasSize(2);
+        Condition<?> area = criteria.conditions().get(0);
+        assertThat(area.operator()).isEqualTo(Operator.BETWEEN);
+        assertThat(area.values()).extracting(v -> ((BigDecimal) v.value()).toPlainString())
+                .containsExactly("10", "20.5");
+        assertThat(criteria.conditions().get(1).values()).isEmpty();
+
+        var or = (SearchExpression.Or) criteria.expressions().get(0);
+        assertThat(((Condition<?>) or.operands().get(0)).values()).hasSize(2);
+        var start = (Condition<?>) ((SearchExpression.Not) or.operands().get(1)).operand();
+        assertThat(start.value().value()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void readsFieldConditionsAndSort() throws Exception {
+        SearchCriteria criteria = reader.read(AssetType.CRE,
+                objectMapper.readTree("""
+                        {"and": [
+                          {"field": "status", "op": "IN", "values": ["ACTIVE", "PENDING"]},
+                          {"field": "year", "op": "GTE", "value": 2020},
+                          {"field": "modifiedAt", "op": "LT", "value": "2024-01-01T00:00:00Z"}
+                        ]}
+                        """),
+                objectMapper.readTree("""
+                        {"attribute": "area", "direction": "desc"}
+                        """));
+
+        assertThat(criteria.expressions()).containsExactly(
+                new FieldCondition(AssetField.STATUS, Operator.IN, "ACTIVE", "PENDING"),
+                new FieldCondition(AssetField.YEAR, Operator.GTE, 2020),
+                new FieldCondition(AssetField.MODIFIED_AT, Operator.LT, Instant.parse("2024-01-01T00:00:00Z")));
+        assertThat(criteria.sort())
+                .isEqualTo(SortKey.byAttribute("area", AttributeType.DECIMAL, SortKey.Direction.DESC));
+        assertThat(reader.read(null, null, objectMapper.readTree("{\"field\": \"notionalAmount\"}")).sort())
+                .isEqualTo(SortKey.by(AssetField.NOTIONAL_AMOUNT, SortKey.Direction.ASC));
+    }
+
+    @Test
+    void rejectsMalformedFilters() {
+        assertThatThrownBy(() -> read("""
+                {"attribute": "city", "op": "CONTAINS", "value": "x"}
+                """)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("""
+                {"attribute": "area", "op": "BETWEEN", "values": [1]}
+                """)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("""
+                {"or": []}
+                """)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("""
+                {"field": "year", "op": "EQ", "value": "soon"}
+                """)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> read("""
+                {"attribute": "unknown", "op": "EQ", "value": "x"}
+                """)).isInstanceOf(AttributeParsingException.class);
+    }
+
+    @Test
+    void readsFacetsWithBuckets() throws Exception {
+        FacetQuery query = reader.readFacets(AssetType.CRE, null, objectMapper.readTree("""
+                [{"attribute": "city"}, {"attribute": "area", "bucket": 100}, {"attribute": "start", "bucket": "months"}]
+                """), null);
+
+        assertThat(query.size()).isEqualTo(10);
+        assertThat(query.facets()).hasSize(3);
+        assertThat(query.facets().get(0)).isEqualTo(Facet.of("city", AttributeType.STRING));
+        assertThat(query.facets().get(1).numericBucket().toPlainString()).isEqualTo("100");
+        assertThat(query.facets().get(2)).isEqualTo(Facet.bucketed("start", ChronoUnit.MONTHS));
+
+        assertThatThrownBy(() -> reader.readFacets(AssetType.CRE, null, objectMapper.readTree("""
+                [{"attribute": "city", "bucket": 10}]
+                """), 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reader.readFacets(AssetType.CRE, null, objectMapper.readTree("""
+                [{"attribute": "start", "bucket": "weeks"}]
+                """), 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private SearchCriteria read(String filter) throws Exception {
+        return reader.read(AssetType.CRE, objectMapper.readTree(filter), null);
+    }
+}
@@ -0,0 +1,127 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AggregateFunction;
+import com.db.assetstore.domain.search.AggregateQuery;
+import com.db.assetstore.domain.search.AggregateRow;
+import com.db.assetstore.domain.search.Aggregation;
+import com.db.assetstore.domain.search.AssetField;
+import com.db.assetstore.domain.search.GroupKey;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+class AssetAggregationServiceDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    AssetAggregationService service;
+
+    @BeforeEach
+    void setUp() {
+        persist("agg-1", AssetType.CRE, "USD", 100, "Oslo", 10);
+        persist("agg-2", AssetType.CRE, "USD", 200, "Oslo", 30);
+        persist("agg-3", AssetType.CRE, "EUR", 50, "Rome", null);
+        persist("agg-4", AssetType.SHIP, "USD", 1000, null, null);
+        AssetEntity deleted = persist("agg-5", AssetType.CRE, "USD", 9999, "Oslo", 99);
+        deleted.setDeleted(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        service = new AssetAggregationService(entityManager,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                new QueryProperties(null, null, null, 3));
+    }
+
+    @Test
+    void sumsAndCountsPerTypeAndCurrency() {
+        List<AggregateRow> rows = service.aggregate(new AggregateQuery(SearchCriteria.builder().build(),
+                List.of(GroupKey.type(), GroupKey.field(AssetField.CURRENCY)),
+                List.of(Aggregation.count(), Aggregation.of(AggregateFunction.SUM, AssetField.NOTIONAL_AMOUNT))));
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(0).group()).containsExactly(Map.entry("type", AssetType.CRE), Map.entry("currency", "EUR"));
+        assertThat(rows).extracting(row -> row.metrics().get("count")).containsExactly(1L, 2L, 1L);
+        assertThat(rows).extracting(row -> ((BigDecimal) row.metrics().get("sum_notionalAmount")).intValue())
+                .containsExactly(50, 300, 1000);
+    }
+
+    @Test
+    void groupsByAttributeValueWithinFilter() {
+        SearchCriteria cre = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(AssetField.NOTIONAL_AMOUNT, Operator.GTE, BigDecimal.valueOf(50))
+                .build();
+
+        List<AggregateRow> rows = service.aggregate(new AggregateQuery(cre,
+                List.of(GroupKey.attribute("city", AttributeType.STRING)),
+                List.of(Aggregation.ofAttribute(AggregateFunction.COUNT, "rooms"),
+                        Aggregation.ofAttribute(AggregateFunction.AVG, "rooms"),
+                        Aggregation.of(AggregateFunction.MAX, AssetField.NOTIONAL_AMOUNT))));
+
+        assertThat(rows).extracting(row -> row.group().get("city")).containsExactly("Oslo", "Rome");
+        assertThat(rows.get(0).metrics().get("count_rooms")).isEqualTo(2L);
+        assertThat(((Number) rows.get(0).metrics().get("avg_rooms")).doubleValue()).isEqualTo(20.0);
+        assertThat(rows.get(1).metrics().get("count_rooms")).isEqualTo(0L);
+        assertThat(((BigDecimal) rows.get(1).metrics().get("max_notionalAmount")).intValue()).isEqualTo(50);
+    }
+
+    @Test
+    void returnsSingleRowWithoutGrouping() {
+        List<AggregateRow> rows = service.aggregate(new AggregateQuery(SearchCriteria.builder().build(),
+                List.of(), List.of(Aggregation.count())));
+
+        assertThat(rows).singleElement().satisfies(row -> {
+            assertThat(row.group()).isEmpty();
+            assertThat(row.metrics()).containsExactly(Map.entry("count", 4L));
+        });
+    }
+
+    @Test
+    void rejectsGroupingsBeyondLimit() {
+        assertThatThrownBy(() -> service.aggregate(new AggregateQuery(SearchCriteria.builder().build(),
+                List.of(GroupKey.field(AssetField.NOTIONAL_AMOUNT)), List.of(Aggregation.count()))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("more than 3 groups");
+    }
+
+    private AssetEntity persist(String id, AssetType type, String currency, int notional, String city, Integer rooms) {
+        AssetEntity asset = AssetEntity.builder()
+                .id(id)
+                .type(type)
+                .currency(currency)
+                .notionalAmount(BigDecimal.valueOf(notional))
+                .createdAt(NOW)
+                .build();
+        if (city != null) {
+            asset.getAttributes().add(new AttributeEntity(asset, "city", city, NOW));
+        }
+        if (rooms != null) {
+            asset.getAttributes().add(new AttributeEntity(asset, "rooms", BigDecimal.valueOf(rooms), NOW));
+        }
+        entityManager.persist(asset);
+        return asset;
+    }
+}
@@ -7,10 +7,13 @@ import com.db.assetstore.domain.service.cmd.AssetCommand;
 import com.db.assetstore.domain.service.cmd.AssetCommandVisitor;
 import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.domain.service.asset.cmd.PatchAssetCommand;
+import com.db.assetstore.infra.config.CommandLogProperties;
 import com.db.assetstore.infra.config.JsonMapperProvider;
 import com.db.assetstore.infra.jpa.AssetEntity;
 import com.db.assetstore.infra.jpa.AttributeEntity;
 import com.db.assetstore.infra.jpa.CommandLogEntity;
+import com.db.assetstore.infra.jpa.PayloadCodec;
 import com.db.assetstore.infra.repository.CommandLogRepository;
 import com.db.assetstore.infra.repository.AssetHistoryRepository;
 import com.db.assetstore.infra.repository.AssetLinkRepo;
@@ -18,6 +21,7 @@ import com.db.assetstore.infra.repository.AssetRepository;
 import com.db.assetstore.infra.repository.AttributeRepository;
 import com.db.assetstore.infra.repository.LinkDefinitionRepo;
 import com.db.assetstore.infra.service.cmd.CommandLogService;
+import com.db.assetstore.infra.service.cmd.CommandPayloadCodec;
 import com.db.assetstore.infra.service.cmd.CommandServiceImpl;
 import com.db.assetstore.infra.mapper.AssetCommandMapper;
 import com.db.assetstore.infra.mapper.AssetHistoryMapper;
@@ -65,6 +69,8 @@ class AssetCommandServiceCommandLogDataTest {
 
     ObjectMapper objectMapper = new JsonMapperProvider().objectMapper();
 
+    CommandLogService commandLogService;
+
     CommandServiceImpl service;
 
     @BeforeEach
@@ -87,9 +93,10 @@ class AssetCommandServiceCommandLogDataTest {
                 assetLinkRepo,
                 linkDefinitionRepo,
                 assetLinkCommandValidator);
-        CommandLogService commandLogService = new CommandLogService(commandLogRepository, objectMapper);
+        commandLogService = new CommandLogService(commandLogRepository,
+                new CommandPayloadCodec(objectMapper, new CommandLogProperties(null, null)), objectMapper);
 
-        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService);
+        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService, event -> {});
     }
 
     @Test
@@ -130,11 +137,40 @@ class AssetCommandServiceCommandLogDataTest {
         assertEquals("asset-123", entry.getAssetId());
         assertNotNull(entry.getCreatedAt());
 
-        JsonNode payload = objectMapper.readTree(entry.getPayload());
+        assertEquals(PayloadCodec.COMPACT, entry.getCodec());
+        JsonNode payload = commandLogService.readPayload(entry);
         assertEquals("asset-123", payload.get("id").asText());
         assertEquals("auditor", payload.get("executedBy").asText());
     }
 
+    @Test
+    void noOpPatchLeavesNoTrace() {
+        service.execute(CreateAssetCommand.builder()
+                .id("asset-789")
+                .type(AssetType.CRE)
+                .status("ACTIVE")
+                .attributes(List.of(new AVString("name", "Depot")))
+                .executedBy("auditor")
+                .build());
+        assetRepository.flush();
+        Long version = assetRepository.findById("asset-789").orElseThrow().getVersion();
+        long history = assetHistoryRepository.count();
+
+        CommandResult<Void> result = service.execute(PatchAssetCommand.builder()
+                .assetId("asset-789")
+                .status("ACTIVE")
+                .attributes(List.of(new AVString("name", "Depot")))
+                .executedBy("resender")
+                .build());
+        assetRepository.flush();
+
+        assertTrue(result.success());
+        assertFalse(result.changed());
+        assertEquals(version, assetRepository.findById("asset-789").orElseThrow().getVersion());
+        assertEquals(history, assetHistoryRepository.count());
+        assertEquals(1, commandLogRepository.count(), "no-op patch must not be logged");
+    }
+
     @Test
     void commandReportsFailure() {
         FailingCommand command = new FailingCommand("asset-456", "auditor");
@@ -0,0 +1,170 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AVDecimal;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AssetField;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Facet;
+import com.db.assetstore.domain.search.FacetQuery;
+import com.db.assetstore.domain.search.FacetValue;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssetFacetServiceDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    AssetFacetService service;
+
+    @BeforeEach
+    void setUp() {
+        persist("facet-1", AssetType.CRE, "USD", "Warsaw", 120, "2023-03-04T10:00:00Z");
+        persist("facet-2", AssetType.CRE, "USD", "Warsaw", 180, "2023-03-20T10:00:00Z");
+        persist("facet-3", AssetType.CRE, "EUR", "Warsaw", 250, "2023-07-01T00:00:00Z");
+        persist("facet-4", AssetType.CRE, "USD", "Gdansk", 90, null);
+        persist("facet-5", AssetType.CRE, "USD", "Krakow", null, null);
+        persist("facet-6", AssetType.SHIP, "USD", "Warsaw", 500, null);
+        AssetEntity deleted = persist("facet-7", AssetType.CRE, "USD", "Gdansk", 100, null);
+        deleted.setDeleted(1);
+        entityManager.flush();
+        entityManager.clear();
+
+        service = new AssetFacetService(entityManager,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                new QueryProperties(null, null, null, 5));
+    }
+
+    @Test
+    void countsTopValuesPerAttributeWithinFilter() {
+        SearchCriteria cre = SearchCriteria.builder().type(AssetType.CRE).build();
+
+        Map<String, List<FacetValue>> facets = service.facets(new FacetQuery(cre,
+                List.of(Facet.of("city", AttributeType.STRING), Facet.of("area", AttributeType.DECIMAL)), 2));
+
+        assertThat(facets).containsOnlyKeys("city", "area");
+        assertThat(facets.get("city")).containsExactly(new FacetValue("Warsaw", 3), new FacetValue("Gdansk", 1));
+        assertThat(facets.get("area")).hasSize(2)
+                .extracting(value -> ((BigDecimal) value.value()).intValue())
+                .containsExactly(90, 120);
+    }
+
+    @Test
+    void bucketsNumbersAndDates() {
+        SearchCriteria usd = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(AssetField.CURRENCY, Operator.EQ, "USD")
+                .build();
+
+        Map<String, List<FacetValue>> facets = service.facets(new FacetQuery(usd,
+                List.of(Facet.bucketed("area", BigDecimal.valueOf(100)),
+                        Facet.bucketed("built", ChronoUnit.MONTHS)), 5));
+
+        assertThat(facets.get("area"))
+                .extracting(value -> ((BigDecimal) value.value()).intValue(), FacetValue::count)
+                .containsExactly(tuple(100, 2L), tuple(0, 1L));
+        assertThat(facets.get("built"))
+                .containsExactly(new FacetValue(Instant.parse("2023-03-01T00:00:00Z"), 2));
+    }
+
+    @Test
+    void appliesAttributeConditionsOfTheFilter() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .where(new Condition<>("area", Operator.GT, AVDecimal.of("area", BigDecimal.valueOf(100))))
+                .build();
+
+        Map<String, List<FacetValue>> facets = service.facets(new FacetQuery(criteria,
+                List.of(Facet.bucketed("built", ChronoUnit.MONTHS), Facet.of("city", AttributeType.STRING)), 5));
+
+        assertThat(facets.get("built")).containsExactly(
+                new FacetValue(Instant.parse("2023-03-01T00:00:00Z"), 2),
+                new FacetValue(Instant.parse("2023-07-01T00:00:00Z"), 1));
+        assertThat(facets.get("city")).containsExactly(new FacetValue("Warsaw", 4));
+    }
+
+    @Test
+    void returnsEmptyValuesForAttributesNoAssetHolds() {
+        Map<String, List<FacetValue>> facets = service.facets(new FacetQuery(SearchCriteria.builder().build(),
+                List.of(Facet.of("missing", AttributeType.STRING)), 3));
+
+        assertThat(facets).containsExactly(Map.entry("missing", List.of()));
+    }
+
+    @Test
+    void readsOnlyTheTopGroupsOfHighCardinalityAttributes() {
+        for (int i = 0; i < 50; i++) {
+            AssetEntity asset = AssetEntity.builder().id("serial-" + i).type(AssetType.CRE).createdAt(NOW).build();
+            asset.getAttributes().add(new AttributeEntity(asset, "serial", "S-" + (i % 40), NOW));
+            entityManager.persist(asset);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Map<String, List<FacetValue>> facets = service.facets(new FacetQuery(SearchCriteria.builder().build(),
+                List.of(Facet.of("serial", AttributeType.STRING), Facet.of("city", AttributeType.STRING)), 2));
+
+        assertThat(facets.get("serial")).containsExactly(new FacetValue("S-0", 2), new FacetValue("S-1", 2));
+        assertThat(facets.get("city")).containsExactly(new FacetValue("Warsaw", 4), new FacetValue("Gdansk", 1));
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(Arrays.stream(statistics.getQueries())
+                .mapToLong(query -> statistics.getQueryStatistics(query).getExecutionRowCount())
+                .sum()).isEqualTo(4);
+    }
+
+    @Test
+    void rejectsSizeBeyondLimit() {
+        assertThatThrownBy(() -> service.facets(new FacetQuery(SearchCriteria.builder().build(),
+                List.of(Facet.of("city", AttributeType.STRING)), 6)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("limit of 5");
+    }
+
+    private AssetEntity persist(String id, AssetType type, String currency, String city, Integer area, String built) {
+        AssetEntity asset = AssetEntity.builder()
+                .id(id)
+                .type(type)
+                .currency(currency)
+                .createdAt(NOW)
+                .build();
+        asset.getAttributes().add(new AttributeEntity(asset, "city", city, NOW));
+        if (area != null) {
+            asset.getAttributes().add(new AttributeEntity(asset, "area", BigDecimal.valueOf(area), NOW));
+        }
+        if (built != null) {
+            asset.getAttributes().add(new AttributeEntity(asset, "built", Instant.parse(built), NOW));
+        }
+        entityManager.persist(asset);
+        return asset;
+    }
+}
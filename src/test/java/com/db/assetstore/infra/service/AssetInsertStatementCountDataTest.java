@@ -0,0 +1,117 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.infra.config.CommandLogProperties;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.mapper.AssetCommandMapper;
+import com.db.assetstore.infra.mapper.AssetHistoryMapper;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributeMapper;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetHistoryRepository;
+import com.db.assetstore.infra.repository.AssetLinkRepo;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.repository.AttributeRepository;
+import com.db.assetstore.infra.repository.CommandLogRepository;
+import com.db.assetstore.infra.repository.LinkDefinitionRepo;
+import com.db.assetstore.infra.service.cmd.CommandLogService;
+import com.db.assetstore.infra.service.cmd.CommandPayloadCodec;
+import com.db.assetstore.infra.service.cmd.CommandServiceImpl;
+import com.db.assetstore.infra.service.link.AssetLinkCommandValidator;
+import com.db.assetstore.infra.service.link.AssetLinkService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements needed to create one asset with 20 attributes.
+ * With IDENTITY keys every one of the 43 rows was its own statement; with pooled sequences and insert
+ * batching it is one statement per table plus at most a couple of sequence fetches per table.
+ * A client-assigned asset id must not cost a SELECT before the insert.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssetInsertStatementCountDataTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    @Autowired
+    AttributeRepository attributeRepository;
+
+    @Autowired
+    AssetHistoryRepository assetHistoryRepository;
+
+    @Autowired
+    CommandLogRepository commandLogRepository;
+
+    @Autowired
+    AssetLinkRepo assetLinkRepo;
+
+    @Autowired
+    LinkDefinitionRepo linkDefinitionRepo;
+
+    CommandServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AssetService assetService = new AssetService(
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)),
+                Mappers.getMapper(AssetCommandMapper.class),
+                Mappers.getMapper(AttributeMapper.class),
+                assetRepository,
+                attributeRepository,
+                assetHistoryRepository,
+                Mappers.getMapper(AssetHistoryMapper.class));
+        AssetLinkService assetLinkService = new AssetLinkService(
+                assetLinkRepo, linkDefinitionRepo, new AssetLinkCommandValidator(assetLinkRepo));
+        ObjectMapper objectMapper = new JsonMapperProvider().objectMapper();
+        CommandLogService commandLogService = new CommandLogService(commandLogRepository,
+                new CommandPayloadCodec(objectMapper, new CommandLogProperties(null, null)), objectMapper);
+        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService, event -> {});
+    }
+
+    @Test
+    void createsAssetWithTwentyAttributesInBatchedStatements() {
+        List<AttributeValue<?>> attributes = IntStream.range(0, 20)
+                .<AttributeValue<?>>mapToObj(i -> new AVString("attr" + i, "value" + i))
+                .toList();
+        CreateAssetCommand command = CreateAssetCommand.builder()
+                .id("stmt-count")
+                .type(AssetType.CRE)
+                .attributes(attributes)
+                .executedBy("bench")
+                .requestTime(Instant.now())
+                .build();
+
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        service.execute(command);
+        entityManager.flush();
+
+        assertEquals(43, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 9,
+                "expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+}
@@ -5,6 +5,7 @@ import com.db.assetstore.domain.model.link.LinkCardinality;
 import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.domain.service.link.cmd.CreateAssetLinkCommand;
 import com.db.assetstore.domain.service.link.cmd.DeleteAssetLinkCommand;
+import com.db.assetstore.infra.config.CommandLogProperties;
 import com.db.assetstore.infra.config.JsonMapperProvider;
 import com.db.assetstore.infra.jpa.AssetEntity;
 import com.db.assetstore.infra.jpa.AssetLinkEntity;
@@ -22,6 +23,7 @@ import com.db.assetstore.infra.repository.AttributeRepository;
 import com.db.assetstore.infra.repository.CommandLogRepository;
 import com.db.assetstore.infra.repository.LinkDefinitionRepo;
 import com.db.assetstore.infra.service.cmd.CommandLogService;
+import com.db.assetstore.infra.service.cmd.CommandPayloadCodec;
 import com.db.assetstore.infra.service.cmd.CommandServiceImpl;
 import com.db.assetstore.infra.service.link.AssetLinkCommandValidator;
 import com.db.assetstore.infra.service.link.AssetLinkService;
@@ -92,9 +94,10 @@ class AssetLinkServiceDataTest {
                 assetLinkRepo,
                 linkDefinitionRepo,
                 assetLinkCommandValidator);
-        CommandLogService commandLogService = new CommandLogService(commandLogRepository, objectMapper);
+        CommandLogService commandLogService = new CommandLogService(commandLogRepository,
+                new CommandPayloadCodec(objectMapper, new CommandLogProperties(null, null)), objectMapper);
 
-        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService);
+        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService, event -> {});
 
         assetRepository.save(AssetEntity.builder()
                 .id("asset-1")
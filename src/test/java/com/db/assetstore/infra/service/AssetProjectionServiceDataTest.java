@@ -0,0 +1,122 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AssetPage;
+import com.db.assetstore.domain.search.FieldSelection;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AttributeMapper;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssetProjectionServiceDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    AssetProjectionService service;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 5; i++) {
+            AssetEntity asset = AssetEntity.builder()
+                    .id("proj-" + i)
+                    .type(AssetType.CRE)
+                    .status("ACTIVE")
+                    .currency("USD")
+                    .description("long description " + i)
+                    .createdAt(NOW.plusSeconds(i))
+                    .build();
+            asset.getAttributes().add(new AttributeEntity(asset, "city", "City " + i, NOW));
+            asset.getAttributes().add(new AttributeEntity(asset, "area", BigDecimal.valueOf(10 * i), NOW));
+            asset.getAttributes().add(new AttributeEntity(asset, "notes", "notes " + i, NOW));
+            entityManager.persist(asset);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        service = new AssetProjectionService(entityManager,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                Mappers.getMapper(AttributeMapper.class),
+                new QueryProperties(null, null, null, null));
+    }
+
+    @Test
+    void loadsOnlySelectedColumnsAndAttributeRows() {
+        Statistics statistics = statistics();
+
+        Asset asset = service.get("proj-2", FieldSelection.parse("status,attributes.city")).orElseThrow();
+
+        assertThat(asset.getId()).isEqualTo("proj-2");
+        assertThat(asset.getStatus()).isEqualTo("ACTIVE");
+        assertThat(asset.getDescription()).isNull();
+        assertThat(asset.getCurrency()).isNull();
+        assertThat(asset.getAttributesByName()).containsOnlyKeys("city");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        // Only the city row is hydrated; the asset itself is never loaded as an entity
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesProjectedAssetsByAttributeSort() {
+        FieldSelection fields = FieldSelection.parse("id,currency");
+        SearchCriteria byArea = SearchCriteria.builder()
+                .orderBy(SortKey.byAttribute("area", AttributeType.DECIMAL, SortKey.Direction.DESC))
+                .build();
+
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            AssetPage page = service.search(byArea, cursor, 2, fields);
+            page.items().forEach(asset -> {
+                assertThat(asset.getCurrency()).isEqualTo("USD");
+                assertThat(asset.getAttributesFlat()).isEmpty();
+                ids.add(asset.getId());
+            });
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(ids).containsExactly("proj-4", "proj-3", "proj-2", "proj-1", "proj-0");
+    }
+
+    @Test
+    void returnsEmptyForDeletedOrMissingAssets() {
+        AssetEntity deleted = entityManager.find(AssetEntity.class, "proj-0");
+        deleted.setDeleted(1);
+        entityManager.flush();
+
+        assertThat(service.get("proj-0", FieldSelection.parse("status"))).isEmpty();
+        assertThat(service.get("missing", FieldSelection.parse("status"))).isEmpty();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
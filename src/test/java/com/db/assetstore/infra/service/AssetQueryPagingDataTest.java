@@ -0,0 +1,204 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AssetField;
+import com.db.assetstore.domain.search.AssetPage;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.domain.service.type.DefaultAttributeDefinitionRegistry;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.config.SearchIndexProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetQueryPagingDataTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    AssetQueryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AssetQueryServiceImpl(
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)),
+                assetRepository,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                new QueryProperties(2, 3, null, null),
+                new AttributeIndex(entityManager, new DefaultAttributeDefinitionRegistry(List.of()),
+                        new SearchIndexProperties(null, null)),
+                entityManager);
+
+        // Two assets share a creation time so the id breaks the tie
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        List<AssetEntity> assets = new ArrayList<>(IntStream.range(0, 4)
+                .mapToObj(i -> new AssetEntity("page-" + i, AssetType.CRE, base.plusSeconds(i)))
+                .toList());
+        assets.add(new AssetEntity("page-1b", AssetType.CRE, base.plusSeconds(1)));
+        AssetEntity deleted = new AssetEntity("page-deleted", AssetType.CRE, base.plusSeconds(2));
+        deleted.setDeleted(1);
+        assets.add(deleted);
+        assetRepository.saveAll(assets);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void walksAllActiveAssetsInCreationOrder() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            AssetPage page = page(cursor, null);
+            page.items().stream().map(Asset::getId).forEach(seen::add);
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(List.of("page-0", "page-1", "page-1b", "page-2", "page-3"), seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void clampsRequestedPageSizeToServerMaximum() {
+        AssetPage page = page(null, 1000);
+
+        assertEquals(3, page.items().size());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class,
+                () -> page("not-a-cursor", null));
+    }
+
+    @Test
+    void walksBySortKeyDescendingWithMissingValuesLast() {
+        Instant base = Instant.parse("2024-02-01T00:00:00Z");
+        modify("page-0", base.plusSeconds(10));
+        modify("page-2", base.plusSeconds(30));
+        modify("page-3", base.plusSeconds(30));
+
+        List<String> seen = walk(SearchCriteria.builder()
+                .orderBy(SortKey.by(AssetField.MODIFIED_AT, SortKey.Direction.DESC))
+                .build());
+
+        assertEquals(List.of("page-3", "page-2", "page-0", "page-1b", "page-1"), seen);
+    }
+
+    @Test
+    void walksByAttributeValueWithFieldFilter() {
+        Instant now = Instant.parse("2024-01-01T00:00:00Z");
+        List<AssetEntity> ships = new ArrayList<>();
+        Integer[] rooms = {5, 1, null, 2};
+        for (int i = 0; i < rooms.length; i++) {
+            AssetEntity ship = AssetEntity.builder().id("ship-" + i).type(AssetType.SHIP).createdAt(now)
+                    .status(i == 1 ? "SOLD" : "ACTIVE").build();
+            if (rooms[i] != null) {
+                ship.getAttributes().add(new AttributeEntity(ship, "rooms", BigDecimal.valueOf(rooms[i]), now));
+            }
+            ships.add(ship);
+        }
+        ships.add(AssetEntity.builder().id("ship-sold").type(AssetType.SHIP).createdAt(now).status("SOLD").build());
+        assetRepository.saveAll(ships);
+
+        List<String> seen = walk(SearchCriteria.builder()
+                .type(AssetType.SHIP)
+                .where(AssetField.STATUS, Operator.NE, "SOLD")
+                .orderBy(SortKey.byAttribute("rooms", AttributeType.DECIMAL, SortKey.Direction.ASC))
+                .build());
+
+        assertEquals(List.of("ship-2", "ship-3", "ship-0"), seen);
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSortKey() {
+        String cursor = page(null, null).nextCursor();
+        SearchCriteria byYear = SearchCriteria.builder().orderBy(SortKey.by(AssetField.YEAR, SortKey.Direction.ASC)).build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TransactionTemplate(transactionManager).execute(status -> service.search(byYear, cursor, null)));
+    }
+
+    @Test
+    void sortKeysAreServedByIndexes() {
+        // Same shape as the orderedBy(...) clause: the pinned columns lead the order
+        assertTrue(plan("select id from assets where deleted = 0 and type = 'CRE' "
+                + "order by deleted desc, type desc, modified_at desc nulls last, id desc limit 21")
+                .matches("(?is).*idx_assets_type_modified.*index sorted(?!:).*"));
+        assertTrue(plan("select id from assets where deleted = 0 "
+                + "order by deleted, notional_amount nulls first, id limit 21")
+                .matches("(?is).*idx_assets_notional.*index sorted(?!:).*"));
+        assertTrue(plan("select id from assets where deleted = 0 "
+                + "order by deleted, created_at nulls first, id limit 21")
+                .matches("(?is).*idx_assets_keyset.*index sorted(?!:).*"));
+    }
+
+    private void modify(String id, Instant modifiedAt) {
+        AssetEntity asset = assetRepository.findById(id).orElseThrow();
+        asset.setModifiedAt(modifiedAt);
+        assetRepository.save(asset);
+    }
+
+    private List<String> walk(SearchCriteria criteria) {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String current = cursor;
+            AssetPage page = new TransactionTemplate(transactionManager)
+                    .execute(status -> service.search(criteria, current, null));
+            page.items().stream().map(Asset::getId).forEach(seen::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private String plan(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("explain " + sql).getSingleResult());
+    }
+
+    private AssetPage page(String cursor, Integer limit) {
+        return new TransactionTemplate(transactionManager)
+                .execute(status -> service.search(SearchCriteria.builder().build(), cursor, limit));
+    }
+}
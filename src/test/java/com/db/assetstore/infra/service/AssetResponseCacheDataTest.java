@@ -0,0 +1,126 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
+import com.db.assetstore.domain.service.type.DefaultAttributeDefinitionRegistry;
+import com.db.assetstore.infra.cache.CacheStats;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.config.ResponseCacheProperties;
+import com.db.assetstore.infra.config.SearchIndexProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssetResponseCacheDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    AssetQueryServiceImpl queryService;
+
+    AssetResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        for (String id : List.of("cached-1", "cached-2")) {
+            AssetEntity asset = AssetEntity.builder().id(id).type(AssetType.CRE).status("ACTIVE").createdAt(NOW).build();
+            asset.getAttributes().add(new AttributeEntity(asset, "city", "Warsaw", NOW));
+            entityManager.persist(asset);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        queryService = new AssetQueryServiceImpl(
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)),
+                assetRepository,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                new QueryProperties(null, null, null, null),
+                new AttributeIndex(entityManager, new DefaultAttributeDefinitionRegistry(List.of()),
+                        new SearchIndexProperties(null, null)),
+                entityManager);
+        cache = new AssetResponseCache(queryService, new JsonMapperProvider().objectMapper(),
+                new ResponseCacheProperties(1, null));
+    }
+
+    @Test
+    void servesRepeatedReadsWithVersionQueryOnly() {
+        byte[] first = get("cached-1").json();
+        Statistics statistics = statistics();
+
+        byte[] second = get("cached-1").json();
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(second, StandardCharsets.UTF_8)).contains("\"city\":\"Warsaw\"");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(cache.stats()).isEqualTo(new CacheStats(1, 1, 0, 1));
+    }
+
+    @Test
+    void reloadsWhenVersionChangesOrAfterInvalidation() {
+        long before = get("cached-1").version();
+        AssetEntity asset = entityManager.find(AssetEntity.class, "cached-1");
+        asset.setStatus("SOLD");
+        entityManager.flush();
+        entityManager.clear();
+
+        AssetResponseCache.CachedAsset changed = get("cached-1");
+        assertThat(changed.version()).isGreaterThan(before);
+        assertThat(new String(changed.json(), StandardCharsets.UTF_8)).contains("\"status\":\"SOLD\"");
+
+        cache.onAssetsChanged(new AssetsChangedEvent(List.of("cached-1")));
+        get("cached-1");
+
+        assertThat(cache.stats()).isEqualTo(new CacheStats(0, 3, 0, 1));
+    }
+
+    @Test
+    void countsEvictionsAndSkipsAssetsDeletedAfterVersionRead() {
+        get("cached-1");
+        long version = get("cached-2").version();
+        cache.onAssetsChanged(new AssetsChangedEvent(List.of("cached-2")));
+        entityManager.find(AssetEntity.class, "cached-2").setDeleted(1);
+        entityManager.flush();
+
+        assertThat(cache.get("cached-2", version)).isEmpty();
+        assertThat(cache.stats()).isEqualTo(new CacheStats(0, 3, 1, 0));
+    }
+
+    private AssetResponseCache.CachedAsset get(String id) {
+        return cache.get(id, queryService.version(id).orElseThrow()).orElseThrow();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
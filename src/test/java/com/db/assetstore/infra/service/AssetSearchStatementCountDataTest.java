@@ -0,0 +1,129 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.service.type.DefaultAttributeDefinitionRegistry;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.config.SearchIndexProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the JDBC statements needed to search 1,000 assets with their attributes.
+ * With lazy per-asset loading this was one query for the assets plus one per asset; attributes are now
+ * initialised in batches, so the search costs a handful of statements whatever the result size.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AssetSearchStatementCountDataTest {
+
+    private static final int ASSETS = 1_000;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    AssetQueryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AssetQueryServiceImpl(
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)),
+                assetRepository,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                new QueryProperties(null, ASSETS, null, null),
+                new AttributeIndex(entityManager, new DefaultAttributeDefinitionRegistry(List.of()),
+                        new SearchIndexProperties(null, null)),
+                entityManager);
+
+        Instant now = Instant.now();
+        assetRepository.saveAll(IntStream.range(0, ASSETS)
+                .mapToObj(i -> {
+                    AssetEntity asset = new AssetEntity("search-" + i, AssetType.CRE, now);
+                    asset.setAttributes(new ArrayList<>(List.of(
+                            new AttributeEntity(asset, "city", "City " + i, now),
+                            new AttributeEntity(asset, "rooms", BigDecimal.valueOf(i), now))));
+                    return asset;
+                })
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void searchLoadsAttributesInBatches() {
+        Statistics statistics = statistics();
+
+        List<Asset> assets = service.search(SearchCriteria.builder().build());
+
+        assertEquals(ASSETS, assets.size());
+        assertEquals(2, assets.get(0).getAttributesFlat().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "expected batched attribute loading, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void pageLoadsAttributesInBatches() {
+        Statistics statistics = statistics();
+
+        var page = service.search(SearchCriteria.builder().build(), null, ASSETS);
+
+        assertEquals(ASSETS, page.items().size());
+        assertTrue(statistics.getPrepareStatementCount() <= 4,
+                "expected batched attribute loading, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    @Test
+    void batchGetLoadsChunksWithAttributesInBatchesAndKeepsRequestOrder() {
+        entityManager.find(AssetEntity.class, "search-1").setDeleted(1);
+        entityManager.flush();
+        entityManager.clear();
+        List<String> ids = new ArrayList<>(IntStream.range(0, ASSETS).mapToObj(i -> "search-" + (ASSETS - 1 - i)).toList());
+        ids.add("missing");
+        Statistics statistics = statistics();
+
+        Map<String, Asset> assets = service.getAll(ids);
+
+        assertEquals(ASSETS - 1, assets.size());
+        assertFalse(assets.containsKey("search-1"));
+        assertFalse(assets.containsKey("missing"));
+        assertEquals("search-" + (ASSETS - 1), assets.keySet().iterator().next());
+        assertEquals(2, assets.get("search-0").getAttributesFlat().size());
+        // 1,001 ids make three chunks of the default 500, each read with at most one query plus one batch
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "expected chunked batch loading, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,158 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeStatisticsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetStreamingQueryServiceDataTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    ObjectMapper objectMapper = new JsonMapperProvider().objectMapper();
+
+    AssetStreamingQueryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AssetStreamingQueryService(entityManager,
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)),
+                assetRepository,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                objectMapper,
+                transactionManager,
+                new QueryProperties(null, null, 2, null));
+
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        assetRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> {
+                    AssetEntity asset = new AssetEntity("stream-" + i, AssetType.CRE, base.plusSeconds(i));
+                    asset.setAttributes(new ArrayList<>(List.of(
+                            new AttributeEntity(asset, "city", "City " + i, base))));
+                    return asset;
+                })
+                .toList());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void writesEveryAssetWithAttributesAcrossPersistenceContextClears() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = service.writeJsonArray(SearchCriteria.builder().build(), out);
+
+        JsonNode array = objectMapper.readTree(out.toByteArray());
+        assertEquals(5, written);
+        assertEquals(5, array.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("stream-" + i, array.get(i).get("id").asText());
+            assertEquals("City " + i, array.get(i).get("attributes").get("city").asText());
+        }
+    }
+
+    @Test
+    void flushesOncePerChunk() throws Exception {
+        AtomicInteger flushes = new AtomicInteger();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        service.writeJsonArray(SearchCriteria.builder().build(), out);
+
+        // Five assets in chunks of two; closing the generator closes the stream without another flush
+        assertEquals(3, flushes.get());
+    }
+
+    @Test
+    void leavesArrayOpenWhenExportFailsMidway() throws Exception {
+        service = new AssetStreamingQueryService(entityManager,
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)) {
+                    @Override
+                    public Asset toModel(AssetEntity entity) {
+                        if (entity.getId().equals("stream-3")) {
+                            throw new IllegalStateException("mapping failed");
+                        }
+                        return super.toModel(entity);
+                    }
+                },
+                assetRepository,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                objectMapper,
+                transactionManager,
+                new QueryProperties(null, null, 2, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> service.writeJsonArray(SearchCriteria.builder().build(), out));
+
+        String written = out.toString(StandardCharsets.UTF_8);
+        assertTrue(written.startsWith("[") && written.contains("stream-1"), written);
+        assertFalse(written.endsWith("]"), written);
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(written));
+    }
+
+    @Test
+    void writesBatchGetResultsInRequestOrderWithNotFoundMarkers() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long found = service.writeBatchGet(List.of("stream-3", "missing", "stream-0", "stream-3", "stream-4"), out);
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(4, found);
+        assertEquals(List.of("stream-3", "missing", "stream-0", "stream-3", "stream-4"),
+                lines.stream().map(line -> line.get("id").asText()).toList());
+        assertEquals("City 3", lines.get(0).get("asset").get("attributes").get("city").asText());
+        assertEquals("NOT_FOUND", lines.get(1).get("error").asText());
+        assertFalse(lines.get(1).has("asset"));
+        assertEquals("City 4", lines.get(4).get("asset").get("attributes").get("city").asText());
+    }
+}
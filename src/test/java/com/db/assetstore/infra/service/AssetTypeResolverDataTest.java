@@ -0,0 +1,68 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
+import com.db.assetstore.infra.config.AssetTypeCacheProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.repository.AssetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssetTypeResolverDataTest {
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    AssetTypeResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new AssetTypeResolver(assetRepository, new AssetTypeCacheProperties(10, null));
+        assetRepository.saveAll(List.of(
+                new AssetEntity("type-cre", AssetType.CRE, Instant.now()),
+                new AssetEntity("type-ship", AssetType.SHIP, Instant.now())));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void resolvesTypeOfActiveAssetWithoutLoadingIt() {
+        assertEquals(Optional.of(AssetType.CRE), resolver.resolve("type-cre"));
+        assertTrue(resolver.resolve("missing").isEmpty());
+    }
+
+    @Test
+    void resolveAllSkipsUnknownIds() {
+        Map<String, AssetType> types = resolver.resolveAll(List.of("type-cre", "type-ship", "missing"));
+
+        assertEquals(Map.of("type-cre", AssetType.CRE, "type-ship", AssetType.SHIP), types);
+    }
+
+    @Test
+    void servesResolvedTypesFromCache() {
+        resolver.resolve("type-ship");
+        assetRepository.deleteById("type-ship");
+
+        assertEquals(Optional.of(AssetType.SHIP), resolver.resolve("type-ship"));
+
+        resolver.onAssetsChanged(new AssetsChangedEvent(List.of("type-ship")));
+        assertTrue(resolver.resolve("type-ship").isEmpty());
+    }
+}
@@ -0,0 +1,288 @@
+package com.db.assetstore.infra.service;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AVDecimal;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.service.asset.AssetAlreadyExistsException;
+import com.db.assetstore.domain.service.asset.AssetNotFoundException;
+import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.domain.service.asset.cmd.factory.AssetCommandFactoryRegistry;
+import com.db.assetstore.domain.service.asset.cmd.factory.CreateAssetCommandFactory;
+import com.db.assetstore.domain.service.asset.cmd.factory.DeleteAssetCommandFactory;
+import com.db.assetstore.domain.service.asset.cmd.factory.PatchAssetCommandFactory;
+import com.db.assetstore.domain.service.cmd.BulkCommandException;
+import com.db.assetstore.domain.service.type.AttributeDefinitionRegistry;
+import com.db.assetstore.domain.service.validation.AttributeValidator;
+import com.db.assetstore.domain.service.validation.rule.CustomValidationRuleRegistry;
+import com.db.assetstore.domain.service.validation.rule.ValidationRuleFactory;
+import com.db.assetstore.infra.api.dto.AssetPatchRequest;
+import com.db.assetstore.infra.config.AssetTypeCacheProperties;
+import com.db.assetstore.infra.config.BulkProperties;
+import com.db.assetstore.infra.config.CommandLogProperties;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.jpa.CommandLogEntity;
+import com.db.assetstore.infra.json.reader.AttributeJsonReader;
+import com.db.assetstore.infra.json.reader.AttributePayloadParser;
+import com.db.assetstore.infra.json.reader.AttributeValueAssembler;
+import com.db.assetstore.infra.mapper.AssetCommandMapper;
+import com.db.assetstore.infra.mapper.AssetHistoryMapper;
+import com.db.assetstore.infra.mapper.AssetMapper;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributeMapper;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetHistoryRepository;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.repository.AttributeRepository;
+import com.db.assetstore.infra.repository.CommandLogRepository;
+import com.db.assetstore.infra.service.bulk.BulkCommandServiceImpl;
+import com.db.assetstore.infra.service.bulk.BulkPreparationStage;
+import com.db.assetstore.infra.service.cmd.CommandLogService;
+import com.db.assetstore.infra.service.cmd.CommandPayloadCodec;
+import com.db.assetstore.testutil.InMemoryAttributeDefinitionLoader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static com.db.assetstore.testutil.AttributeTestHelpers.constraint;
+import static com.db.assetstore.testutil.AttributeTestHelpers.definition;
+import static com.db.assetstore.domain.service.type.ConstraintDefinition.Rule.TYPE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BulkCommandServiceDataTest {
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    @Autowired
+    AttributeRepository attributeRepository;
+
+    @Autowired
+    AssetHistoryRepository assetHistoryRepository;
+
+    @Autowired
+    CommandLogRepository commandLogRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManager entityManager;
+
+    ObjectMapper objectMapper = new JsonMapperProvider().objectMapper();
+
+    AssetCommandFactoryRegistry commandFactoryRegistry = commandFactoryRegistry();
+
+    BulkCommandServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        AttributesCollectionMapper collectionMapper = Mappers.getMapper(AttributesCollectionMapper.class);
+        AssetMapper assetMapper = new AssetMapperImpl(collectionMapper);
+        AssetService assetService = new AssetService(
+                assetMapper,
+                Mappers.getMapper(AssetCommandMapper.class),
+                Mappers.getMapper(AttributeMapper.class),
+                assetRepository,
+                attributeRepository,
+                assetHistoryRepository,
+                Mappers.getMapper(AssetHistoryMapper.class));
+        CommandLogService commandLogService = new CommandLogService(commandLogRepository,
+                new CommandPayloadCodec(objectMapper, new CommandLogProperties(null, null)), objectMapper);
+
+        BulkProperties properties = new BulkProperties(2, 1);
+        service = new BulkCommandServiceImpl(assetService, commandLogService, new BulkPreparationStage(properties),
+                new TransactionTemplate(transactionManager), properties,
+                new AssetTypeResolver(assetRepository, new AssetTypeCacheProperties(null, null)), event -> {});
+    }
+
+    @AfterEach
+    void cleanUp() {
+        assetHistoryRepository.deleteAll();
+        commandLogRepository.deleteAll();
+        assetRepository.deleteAll();
+    }
+
+    @Test
+    void createsAllAssetsAcrossChunks() {
+        List<CreateAssetCommand> commands = IntStream.range(0, 5)
+                .mapToObj(i -> command("bulk-" + i))
+                .toList();
+
+        List<String> ids = createAll(commands);
+
+        assertEquals(List.of("bulk-0", "bulk-1", "bulk-2", "bulk-3", "bulk-4"), ids);
+        assertEquals(5, assetRepository.count());
+        assertEquals(10, attributeRepository.count());
+        assertEquals(5, assetHistoryRepository.count());
+        assertEquals(5, commandLogRepository.count());
+    }
+
+    @Test
+    void reportsFailingChunkAndItemAndKeepsCommittedChunks() {
+        List<CreateAssetCommand> commands = List.of(
+                command("ok-0"), command("ok-1"),
+                command("dup"), command("dup"),
+                command("never"));
+
+        BulkCommandException ex = assertThrows(BulkCommandException.class, () -> createAll(commands));
+
+        assertEquals(1, ex.getChunkIndex());
+        assertEquals(3, ex.getItemIndex());
+        assertEquals(2, ex.getCommittedCount());
+        assertEquals(List.of(0, 1), ex.getCommittedItems());
+        assertTrue(assetRepository.existsById("ok-0"));
+        assertTrue(assetRepository.existsById("ok-1"));
+        assertFalse(assetRepository.existsById("dup"));
+        assertFalse(assetRepository.existsById("never"));
+        assertEquals(2, commandLogRepository.count());
+    }
+
+    @Test
+    void rejectsIdsThatAlreadyExistBeforeWritingTheChunk() {
+        createAll(List.of(command("taken")));
+
+        BulkCommandException ex = assertThrows(BulkCommandException.class,
+                () -> createAll(List.of(command("fresh"), command("taken"))));
+
+        assertEquals(1, ex.getItemIndex());
+        assertInstanceOf(AssetAlreadyExistsException.class, ex.getCause());
+        assertFalse(assetRepository.existsById("fresh"));
+        assertEquals(1, commandLogRepository.count());
+    }
+
+    @Test
+    void patchesEachChunkFromOnePrefetchQuery() {
+        createAll(IntStream.range(0, 5).mapToObj(i -> command("patch-" + i)).toList());
+        Statistics statistics = statistics();
+
+        patchAll(IntStream.range(0, 5).mapToObj(i -> patch("patch-" + i, "Gdansk")).toList());
+
+        // Three chunks of two, each resolving types and loading its assets with attributes once
+        assertEquals(6, statistics.getQueryExecutionCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+        assertEquals(5, attributeRepository.findAll().stream()
+                .filter(attribute -> "Gdansk".equals(attribute.getValueStr()))
+                .count());
+    }
+
+    @Test
+    void patchesInIdOrderWhateverTheRequestOrder() {
+        createAll(List.of(command("order-a"), command("order-b"), command("order-c")));
+        commandLogRepository.deleteAll();
+
+        patchAll(List.of(patch("order-c", "Lodz"), patch("order-a", "Lodz"), patch("order-b", "Lodz")));
+
+        assertEquals(List.of("order-a", "order-b", "order-c"), commandLogRepository.findAll(Sort.by("id")).stream()
+                .map(CommandLogEntity::getAssetId)
+                .toList());
+    }
+
+    @Test
+    void reportsMissingIdAsNotFoundAtItsRequestIndex() {
+        createAll(List.of(command("known")));
+
+        BulkCommandException ex = assertThrows(BulkCommandException.class,
+                () -> patchAll(List.of(patch("known", "Lodz"), patch("unknown", "Lodz"))));
+
+        assertEquals(1, ex.getItemIndex());
+        assertInstanceOf(AssetNotFoundException.class, ex.getCause());
+    }
+
+    @Test
+    void keepsPatchesOfCommittedChunksWhenALaterChunkFails() {
+        createAll(List.of(command("chunk-a"), command("chunk-b"), command("chunk-d")));
+        commandLogRepository.deleteAll();
+
+        // Sorted by id the chunks are [chunk-a, chunk-b] and [chunk-c, chunk-d]; chunk-c does not exist
+        BulkCommandException ex = assertThrows(BulkCommandException.class, () -> patchAll(List.of(
+                patch("chunk-d", "Lodz"), patch("chunk-c", "Lodz"), patch("chunk-b", "Lodz"), patch("chunk-a", "Lodz"))));
+
+        assertEquals(1, ex.getChunkIndex());
+        assertEquals(1, ex.getItemIndex());
+        assertEquals(2, ex.getCommittedCount());
+        // Committed items are reported at their request positions, not their position in id order
+        assertEquals(List.of(2, 3), ex.getCommittedItems());
+        assertEquals("2 items committed: 2-3", ex.describeCommitted());
+        assertEquals(List.of("chunk-a", "chunk-b"), commandLogRepository.findAll(Sort.by("id")).stream()
+                .map(CommandLogEntity::getAssetId)
+                .toList());
+        assertEquals(2, attributeRepository.findAll().stream()
+                .filter(attribute -> "Lodz".equals(attribute.getValueStr()))
+                .count());
+    }
+
+    private List<String> createAll(List<CreateAssetCommand> commands) {
+        return service.createAll(commands, Function.identity());
+    }
+
+    private void patchAll(List<AssetPatchRequest> requests) {
+        service.patchAll(requests, AssetPatchRequest::getId, commandFactoryRegistry::createPatchCommand);
+    }
+
+    private AssetPatchRequest patch(String id, String city) {
+        AssetPatchRequest request = new AssetPatchRequest();
+        request.setId(id);
+        request.setAttributes(objectMapper.createObjectNode().put("city", city));
+        request.setExecutedBy("patcher");
+        return request;
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static AssetCommandFactoryRegistry commandFactoryRegistry() {
+        var city = definition(AssetType.CRE, "city", AttributeType.STRING);
+        var rooms = definition(AssetType.CRE, "rooms", AttributeType.DECIMAL);
+        AttributeDefinitionRegistry definitions = InMemoryAttributeDefinitionLoader.builder()
+                .withAttribute(city, constraint(city, TYPE))
+                .withAttribute(rooms, constraint(rooms, TYPE))
+                .buildRegistry();
+        AttributeValidator validator = new AttributeValidator(definitions,
+                new ValidationRuleFactory(new CustomValidationRuleRegistry(List.of())));
+        AttributeJsonReader reader = new AttributeJsonReader(new AttributePayloadParser(),
+                new AttributeValueAssembler(definitions));
+        return new AssetCommandFactoryRegistry(
+                new CreateAssetCommandFactory(validator, reader),
+                new PatchAssetCommandFactory(validator, reader),
+                new DeleteAssetCommandFactory());
+    }
+
+    private static CreateAssetCommand command(String id) {
+        return CreateAssetCommand.builder()
+                .id(id)
+                .type(AssetType.CRE)
+                .status("ACTIVE")
+                .attributes(List.of(
+                        new AVString("city", "Warsaw"),
+                        new AVDecimal("rooms", new BigDecimal("3"))))
+                .executedBy("loader")
+                .requestTime(Instant.parse("2024-01-01T00:00:00Z"))
+                .build();
+    }
+}
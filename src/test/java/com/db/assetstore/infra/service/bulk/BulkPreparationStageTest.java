@@ -0,0 +1,40 @@
+package com.db.assetstore.infra.service.bulk;
+
+import com.db.assetstore.infra.config.BulkProperties;
+import com.db.assetstore.infra.service.bulk.BulkPreparationStage.Prepared;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkPreparationStageTest {
+
+    private final BulkPreparationStage stage = new BulkPreparationStage(new BulkProperties(100, 4));
+
+    @AfterEach
+    void tearDown() {
+        stage.destroy();
+    }
+
+    @Test
+    void keepsInputOrder() {
+        List<Integer> items = IntStream.range(0, 200).boxed().toList();
+
+        List<Prepared<String>> prepared = stage.submit(items, i -> "item-" + i).join();
+
+        assertThat(prepared).extracting(Prepared::value)
+                .containsExactlyElementsOf(items.stream().map(i -> "item-" + i).toList());
+    }
+
+    @Test
+    void reportsErrorPerItem() {
+        List<Prepared<Integer>> prepared = stage.submit(List.of("1", "x", "3", "y"), Integer::valueOf).join();
+
+        assertThat(prepared).extracting(Prepared::success).containsExactly(true, false, true, false);
+        assertThat(prepared.get(1).error()).isInstanceOf(NumberFormatException.class);
+        assertThat(prepared.get(2).value()).isEqualTo(3);
+    }
+}
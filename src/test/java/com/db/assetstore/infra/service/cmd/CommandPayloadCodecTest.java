@@ -0,0 +1,95 @@
+package com.db.assetstore.infra.service.cmd;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.model.type.AVDecimal;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
+import com.db.assetstore.domain.service.asset.cmd.DeleteAssetCommand;
+import com.db.assetstore.infra.config.CommandLogProperties;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.jpa.CommandLogEntity;
+import com.db.assetstore.infra.jpa.PayloadCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CommandPayloadCodecTest {
+
+    private final ObjectMapper objectMapper = new JsonMapperProvider().objectMapper();
+    private final CommandPayloadCodec codec = new CommandPayloadCodec(objectMapper, new CommandLogProperties(null, 512));
+
+    @Test
+    void smallPayloadIsStoredCompact() throws Exception {
+        DeleteAssetCommand command = new DeleteAssetCommand("asset-1", "auditor", Instant.parse("2024-01-01T00:00:00Z"));
+
+        CommandPayloadCodec.Encoded encoded = codec.encode(command);
+
+        assertThat(encoded.codec()).isEqualTo(PayloadCodec.COMPACT);
+        assertThat(encoded.text()).contains("\"a\":\"asset-1\"").doesNotContain("assetId");
+        assertThat(objectMapper.readTree(decode(command.commandType(), encoded)))
+                .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(command)));
+    }
+
+    @Test
+    void largePayloadIsDeflatedAndRoundTripsExactly() throws Exception {
+        List<AttributeValue<?>> attributes = IntStream.range(0, 40)
+                .<AttributeValue<?>>mapToObj(i -> i % 2 == 0
+                        ? new AVString("attr" + i, "value-" + i)
+                        : new AVDecimal("attr" + i, new BigDecimal("12345.6789012345")))
+                .toList();
+        CreateAssetCommand command = CreateAssetCommand.builder()
+                .id("asset-2")
+                .type(AssetType.CRE)
+                .notionalAmount(new BigDecimal("1000000.10"))
+                .attributes(attributes)
+                .executedBy("loader")
+                .requestTime(Instant.parse("2024-01-01T00:00:00Z"))
+                .build();
+        String plain = objectMapper.writeValueAsString(command);
+
+        CommandPayloadCodec.Encoded encoded = codec.encode(command);
+
+        assertThat(encoded.codec()).isEqualTo(PayloadCodec.COMPACT_DEFLATE);
+        assertThat(encoded.text()).isNull();
+        assertThat(encoded.binary().length).isLessThan(plain.length() / 4);
+        assertThat(decode(command.commandType(), encoded)).isEqualTo(plain);
+    }
+
+    @Test
+    void legacyRowsAreReturnedAsStored() {
+        CommandLogEntity legacy = CommandLogEntity.builder()
+                .commandType("DeleteAssetCommand")
+                .codec(PayloadCodec.JSON)
+                .payload("{\"assetId\":\"old\"}")
+                .build();
+
+        assertThat(codec.decode(legacy)).isEqualTo("{\"assetId\":\"old\"}");
+    }
+
+    @Test
+    void jsonCodecDisablesCompaction() {
+        CommandPayloadCodec plainCodec = new CommandPayloadCodec(objectMapper,
+                new CommandLogProperties(PayloadCodec.JSON, 512));
+
+        CommandPayloadCodec.Encoded encoded = plainCodec.encode(new DeleteAssetCommand("asset-3", "auditor", null));
+
+        assertThat(encoded.codec()).isEqualTo(PayloadCodec.JSON);
+        assertThat(encoded.text()).contains("\"assetId\":\"asset-3\"");
+    }
+
+    private String decode(String commandType, CommandPayloadCodec.Encoded encoded) {
+        return codec.decode(CommandLogEntity.builder()
+                .commandType(commandType)
+                .codec(encoded.codec())
+                .payload(encoded.text())
+                .payloadBin(encoded.binary())
+                .build());
+    }
+}
@@ -0,0 +1,127 @@
+package com.db.assetstore.infra.service.idempotency;
+
+import com.db.assetstore.domain.service.cmd.BulkCommandException;
+import com.db.assetstore.infra.config.IdempotencyProperties;
+import com.db.assetstore.infra.config.JsonMapperProvider;
+import com.db.assetstore.infra.jpa.IdempotencyRecordEntity;
+import com.db.assetstore.infra.jpa.IdempotencyRecordEntity.Status;
+import com.db.assetstore.infra.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotencyServiceDataTest {
+
+    private static final TypeReference<String> BODY = new TypeReference<>() {};
+
+    @Autowired
+    IdempotencyRecordRepository repository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    IdempotencyService service;
+
+    AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        service = new IdempotencyService(repository, new JsonMapperProvider().objectMapper(), transactionManager,
+                new IdempotencyProperties(Duration.ofHours(24), 10, Duration.ofMinutes(1)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void keepsKeyAsFailedWhenChunksWereCommitted() {
+        BulkCommandException partial = new BulkCommandException(1, 3, 2, new IllegalStateException("boom"));
+
+        assertThrows(BulkCommandException.class, () -> service.execute("partial", "POST /assets/bulk", "body", BODY,
+                () -> {
+                    runs.incrementAndGet();
+                    throw partial;
+                }));
+        IdempotencyConflictException retry = assertThrows(IdempotencyConflictException.class,
+                () -> service.execute("partial", "POST /assets/bulk", "body", BODY, this::succeed));
+
+        assertEquals(IdempotencyConflictException.Reason.PARTIALLY_APPLIED, retry.getReason());
+        assertEquals(1, runs.get());
+        assertEquals(Status.FAILED, repository.findById("partial").orElseThrow().getStatus());
+    }
+
+    @Test
+    void releasesKeyWhenNothingWasWritten() {
+        assertThrows(BulkCommandException.class, () -> service.execute("clean", "POST /assets/bulk", "body", BODY,
+                () -> {
+                    throw new BulkCommandException(0, 0, 0, new IllegalStateException("boom"));
+                }));
+
+        ResponseEntity<String> retry = service.execute("clean", "POST /assets/bulk", "body", BODY, this::succeed);
+
+        assertEquals("done", retry.getBody());
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void rejectsKeysLongerThanTheColumn() {
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH + 1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.execute(key, "POST /assets", "body", BODY, this::succeed));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void reservesKeysForTheLeaseAndKeepsCompletedOnesForTheTtl() {
+        Instant start = Instant.now();
+
+        service.execute("leased", "POST /assets", "body", BODY, () -> {
+            Instant expiresAt = repository.findById("leased").orElseThrow().getExpiresAt();
+            assertTrue(expiresAt.isBefore(start.plus(Duration.ofMinutes(2))), "in-progress lease " + expiresAt);
+            return succeed();
+        });
+
+        assertTrue(repository.findById("leased").orElseThrow().getExpiresAt().isAfter(start.plus(Duration.ofHours(23))));
+    }
+
+    @Test
+    void takesOverKeyLeftInProgressOnceItsLeaseExpired() {
+        Instant crashed = Instant.now().minus(Duration.ofMinutes(5));
+        repository.save(IdempotencyRecordEntity.builder()
+                .key("crashed")
+                .scope("POST /assets")
+                .fingerprint("stale")
+                .status(Status.IN_PROGRESS)
+                .createdAt(crashed)
+                .expiresAt(crashed.plus(Duration.ofMinutes(1)))
+                .build());
+
+        ResponseEntity<String> response = service.execute("crashed", "POST /assets", "body", BODY, this::succeed);
+
+        assertEquals("done", response.getBody());
+        assertEquals(Status.COMPLETED, repository.findById("crashed").orElseThrow().getStatus());
+    }
+
+    private ResponseEntity<String> succeed() {
+        runs.incrementAndGet();
+        return ResponseEntity.ok("done");
+    }
+}
@@ -0,0 +1,135 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AVDecimal;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SearchExpression;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.repository.AssetRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static com.db.assetstore.domain.search.SearchExpression.not;
+import static com.db.assetstore.domain.search.SearchExpression.or;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AssetSearchSpecificationServiceDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    AttributeStatisticsService statistics;
+    AssetSearchSpecificationService specService;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 20; i++) {
+            AssetEntity asset = AssetEntity.builder()
+                    .id("spec-" + i)
+                    .type(AssetType.CRE)
+                    .createdAt(NOW)
+                    .build();
+            asset.getAttributes().add(new AttributeEntity(asset, "city", i % 2 == 0 ? "Oslo" : "Rome", NOW));
+            asset.getAttributes().add(new AttributeEntity(asset, "rooms", BigDecimal.valueOf(i), NOW));
+            asset.getAttributes().add(new AttributeEntity(asset, "serial", "S-" + i, NOW));
+            if (i % 5 == 0) {
+                asset.getAttributes().add(new AttributeEntity(asset, "tag", "round", NOW));
+            }
+            entityManager.persist(asset);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = new AttributeStatisticsService(entityManager);
+        statistics.refresh();
+        specService = new AssetSearchSpecificationService(statistics);
+    }
+
+    @Test
+    void combinesConditionsAsSemiJoinsWithoutDuplicates() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .where("city", Operator.EQ, AVString.of("city", "Oslo"))
+                .where("rooms", Operator.GT, AVDecimal.of("rooms", BigDecimal.valueOf(10)))
+                .where("serial", Operator.LIKE, AVString.of("serial", "S-1"))
+                .build();
+
+        List<AssetEntity> found = assetRepository.findAll(specService.<AssetEntity>buildSpec(criteria));
+
+        assertThat(found).extracting(AssetEntity::getId)
+                .containsExactlyInAnyOrder("spec-12", "spec-14", "spec-16", "spec-18");
+    }
+
+    @Test
+    void evaluatesExpressionTreeInOneQuery() {
+        SearchExpression filter = SearchExpression.and(
+                new Condition<>("rooms", Operator.BETWEEN,
+                        List.of(AVDecimal.of("rooms", 4), AVDecimal.of("rooms", 15))),
+                or(new Condition<>("city", Operator.EQ, AVString.of("city", "Rome")),
+                        new Condition<>("serial", Operator.IN,
+                                List.of(AVString.of("serial", "s-4"), AVString.of("serial", "s-6")))),
+                not(new Condition<>("serial", Operator.STARTS_WITH, AVString.of("serial", "S-1"))));
+        SearchCriteria criteria = SearchCriteria.builder().where(filter).build();
+
+        List<AssetEntity> found = assetRepository.findAll(specService.<AssetEntity>buildSpec(criteria));
+
+        assertThat(criteria.conditions()).hasSize(1);
+        assertThat(found).extracting(AssetEntity::getId)
+                .containsExactlyInAnyOrder("spec-4", "spec-5", "spec-6", "spec-7", "spec-9");
+    }
+
+    @Test
+    void matchesMissingAttributesWithIsNull() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .where(Condition.isNull("tag"))
+                .where("rooms", Operator.LTE, AVDecimal.of("rooms", 5))
+                .where("rooms", Operator.NE, AVDecimal.of("rooms", 3))
+                .build();
+
+        List<AssetEntity> found = assetRepository.findAll(specService.<AssetEntity>buildSpec(criteria));
+
+        assertThat(found).extracting(AssetEntity::getId)
+                .containsExactlyInAnyOrder("spec-1", "spec-2", "spec-4");
+    }
+
+    @Test
+    void estimatesUniqueValuesAsMoreSelectiveThanRepeatedOnes() {
+        double serial = statistics.estimate(new Condition<>("serial", Operator.EQ, AVString.of("serial", "S-3")));
+        double city = statistics.estimate(new Condition<>("city", Operator.EQ, AVString.of("city", "Oslo")));
+        double rooms = statistics.estimate(new Condition<>("rooms", Operator.GT, AVDecimal.of("rooms", BigDecimal.ONE)));
+        double unknown = statistics.estimate(new Condition<>("missing", Operator.EQ, AVString.of("missing", "x")));
+
+        assertThat(serial).isEqualTo(1.0);
+        assertThat(city).isEqualTo(10.0);
+        assertThat(serial).isLessThan(rooms).isLessThan(city);
+        // Mean rows per attribute: (20 + 20 + 20 + 4) / 4
+        assertThat(unknown).isEqualTo(16.0);
+    }
+
+    @Test
+    void givesEveryConditionTheSameEstimateUntilTheFirstRefresh() {
+        AttributeStatisticsService cold = new AttributeStatisticsService(entityManager);
+
+        double serial = cold.estimate(new Condition<>("serial", Operator.EQ, AVString.of("serial", "S-3")));
+        double city = cold.estimate(new Condition<>("city", Operator.EQ, AVString.of("city", "Oslo")));
+
+        assertThat(cold.snapshot()).isEmpty();
+        assertThat(serial).isEqualTo(city);
+    }
+}
@@ -0,0 +1,328 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.domain.model.asset.Asset;
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AVDecimal;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.model.type.AttributeType;
+import com.db.assetstore.domain.search.AssetPage;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.search.SortKey;
+import com.db.assetstore.domain.service.type.AttributeDefinition;
+import com.db.assetstore.domain.service.type.AttributeDefinitionLoader;
+import com.db.assetstore.domain.service.type.DefaultAttributeDefinitionRegistry;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.config.SearchIndexProperties;
+import com.db.assetstore.infra.jpa.AssetEntity;
+import com.db.assetstore.infra.jpa.AttributeEntity;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.AssetQueryServiceImpl;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class AttributeIndexDataTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    AttributeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        String[] cities = {"Warsaw", "Gdansk", "Warsaw", "Krakow", "WARSAW"};
+        String[] notes = {"Harbour warehouse", "House next to the software park", "Office tower", "Old warehouse",
+                "Riverside office"};
+        for (int i = 0; i < cities.length; i++) {
+            AssetEntity asset = AssetEntity.builder().id("idx-" + i).type(AssetType.CRE).createdAt(NOW).build();
+            asset.getAttributes().add(new AttributeEntity(asset, "city", cities[i], NOW));
+            asset.getAttributes().add(new AttributeEntity(asset, "rooms", BigDecimal.valueOf(i + 1), NOW));
+            asset.getAttributes().add(new AttributeEntity(asset, "notes", notes[i], NOW));
+            entityManager.persist(asset);
+        }
+        AssetEntity ship = AssetEntity.builder().id("idx-ship").type(AssetType.SHIP).createdAt(NOW).build();
+        ship.getAttributes().add(new AttributeEntity(ship, "city", "Warsaw", NOW));
+        entityManager.persist(ship);
+        entityManager.flush();
+        entityManager.clear();
+
+        AttributeDefinition notesDefinition = new AttributeDefinition(AssetType.CRE, "notes", AttributeType.STRING, true);
+        AttributeDefinitionLoader loader = type -> type == AssetType.CRE
+                ? new AttributeDefinitionLoader.AttributeDefinitions(Map.of("notes", notesDefinition), Map.of())
+                : AttributeDefinitionLoader.AttributeDefinitions.empty();
+        index = new AttributeIndex(entityManager, new DefaultAttributeDefinitionRegistry(List.of(loader)),
+                new SearchIndexProperties(true, 3));
+        index.build();
+    }
+
+    @Test
+    void answersEqualityCaseInsensitivelyWithinType() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "warsaw")))
+                .build();
+
+        List<String> match = index.lookup(criteria).orElseThrow().assetIds();
+
+        assertThat(match).containsExactlyInAnyOrder("idx-0", "idx-2", "idx-4");
+    }
+
+    @Test
+    void intersectsRangeAndInAndSkipsOtherConditions() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("rooms", Operator.BETWEEN, List.of(
+                        AVDecimal.of("rooms", new BigDecimal("2.0")), AVDecimal.of("rooms", BigDecimal.valueOf(4)))))
+                .where(new Condition<>("city", Operator.IN, List.of(
+                        AVString.of("city", "Warsaw"), AVString.of("city", "Krakow"))))
+                .where(new Condition<>("city", Operator.LIKE, AVString.of("city", "%a%")))
+                .build();
+
+        List<String> match = index.lookup(criteria).orElseThrow().assetIds();
+
+        assertThat(match).containsExactlyInAnyOrder("idx-2", "idx-3");
+    }
+
+    @Test
+    void skipsConditionsTheIndexCannotAnswer() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .where(new Condition<>("rooms", Operator.EQ, AVDecimal.of("rooms", null)))
+                .where(new Condition<>("city", Operator.GT, AVString.of("city", "A")))
+                .build();
+
+        List<String> match = index.lookup(criteria).orElseThrow().assetIds();
+
+        assertThat(match).containsExactlyInAnyOrder("idx-0", "idx-2", "idx-4");
+    }
+
+    @Test
+    void readsEscapedWildcardsInLikeAsLiterals() {
+        AssetEntity sale = AssetEntity.builder().id("idx-sale").type(AssetType.CRE).createdAt(NOW).build();
+        sale.getAttributes().add(new AttributeEntity(sale, "notes", "Lease at 50%off this month", NOW));
+        entityManager.persist(sale);
+        entityManager.flush();
+        index.build();
+        SearchCriteria criteria = SearchCriteria.builder()
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "%50\\%off%")))
+                .build();
+
+        List<String> match = index.lookup(criteria).orElseThrow().assetIds();
+
+        assertThat(match).containsExactly("idx-sale");
+        assertThat(Trigrams.ofPattern("50\\%off")).containsExactly("50%", "0%o", "%of", "off");
+    }
+
+    @Test
+    void fallsBackToSqlWhenMatchIsTooBroadOrNothingIsIndexable() {
+        SearchCriteria broad = SearchCriteria.builder()
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .build();
+        SearchCriteria unindexed = SearchCriteria.builder()
+                .where(Condition.isNull("city"))
+                .build();
+
+        assertThat(index.lookup(broad)).isEmpty();
+        assertThat(index.lookup(unindexed)).isEmpty();
+    }
+
+    @Test
+    void narrowsLikeByTrigrams() {
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "%WARE%house%")))
+                .build();
+
+        List<String> match = index.lookup(criteria).orElseThrow().assetIds();
+
+        // "software ... house" holds every trigram without matching the pattern; SQL drops it
+        assertThat(match).containsExactlyInAnyOrder("idx-0", "idx-1", "idx-3");
+    }
+
+    @Test
+    void leavesLikeToSqlWithoutTextSearchOrTrigrams() {
+        SearchCriteria notTextSearch = SearchCriteria.builder()
+                .where(new Condition<>("city", Operator.LIKE, AVString.of("city", "war")))
+                .build();
+        SearchCriteria tooShort = SearchCriteria.builder()
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "%of_")))
+                .build();
+
+        assertThat(index.lookup(notTextSearch)).isEmpty();
+        assertThat(index.lookup(tooShort)).isEmpty();
+    }
+
+    @Test
+    void refreshPicksUpChangedAndDeletedAssets() {
+        AssetEntity changed = entityManager.find(AssetEntity.class, "idx-1");
+        changed.getAttributes().stream()
+                .filter(attribute -> attribute.getName().equals("city"))
+                .forEach(attribute -> attribute.setValueStr("Warsaw"));
+        entityManager.find(AssetEntity.class, "idx-0").setDeleted(1);
+        entityManager.flush();
+
+        index.refresh(List.of("idx-0", "idx-1"));
+
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .build();
+        assertThat(index.lookup(criteria).orElseThrow().assetIds())
+                .containsExactlyInAnyOrder("idx-1", "idx-2", "idx-4");
+        SearchCriteria warehouses = SearchCriteria.builder()
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "warehouse")))
+                .build();
+        assertThat(index.lookup(warehouses).orElseThrow().assetIds()).containsExactly("idx-3");
+    }
+
+    @Test
+    void reusesOrdinalsOfDeletedAssets() {
+        entityManager.find(AssetEntity.class, "idx-0").setDeleted(1);
+        entityManager.flush();
+        index.refresh(List.of("idx-0"));
+        AssetEntity added = AssetEntity.builder().id("idx-new").type(AssetType.CRE).createdAt(NOW).build();
+        added.getAttributes().add(new AttributeEntity(added, "city", "Warsaw", NOW));
+        entityManager.persist(added);
+        entityManager.flush();
+
+        index.refresh(List.of("idx-new"));
+
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .build();
+        assertThat(index.lookup(criteria).orElseThrow().assetIds()).containsExactlyInAnyOrder("idx-new", "idx-2", "idx-4");
+        assertThat(index.allocatedOrdinals()).isEqualTo(6);
+    }
+
+    @Test
+    void marksMatchesExactOnlyWhenEveryConditionIsIndexedWithoutLike() {
+        Condition<?> warsaw = new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw"));
+        SearchCriteria indexed = SearchCriteria.builder().type(AssetType.CRE).where(warsaw).build();
+        SearchCriteria unsupported = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(warsaw)
+                .where(new Condition<>("city", Operator.GT, AVString.of("city", "A")))
+                .build();
+        SearchCriteria like = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(warsaw)
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "%office%")))
+                .build();
+
+        assertThat(index.lookup(indexed).orElseThrow().exact()).isTrue();
+        assertThat(index.lookup(unsupported).orElseThrow().exact()).isFalse();
+        assertThat(index.lookup(like).orElseThrow().exact()).isFalse();
+    }
+
+    @Test
+    void sqlDropsCandidatesOfInexactMatchesChangedSinceLastRefresh() {
+        AssetEntity changed = entityManager.find(AssetEntity.class, "idx-2");
+        changed.getAttributes().stream()
+                .filter(attribute -> attribute.getName().equals("city"))
+                .forEach(attribute -> attribute.setValueStr("Gdansk"));
+        entityManager.flush();
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "%o%")))
+                .build();
+
+        assertThat(index.lookup(criteria).orElseThrow().assetIds()).contains("idx-2");
+        assertThat(queryService(index).search(criteria)).extracting(Asset::getId)
+                .containsExactlyInAnyOrder("idx-0", "idx-4");
+    }
+
+    @Test
+    void pagesIndexMatchesInSqlOrder() {
+        entityManager.find(AssetEntity.class, "idx-3").setDeleted(1);
+        entityManager.flush();
+        AssetQueryServiceImpl indexed = queryService(index);
+        AssetQueryServiceImpl plain = queryService(new AttributeIndex(entityManager,
+                new DefaultAttributeDefinitionRegistry(List.of()), new SearchIndexProperties(false, null)));
+
+        for (SortKey sort : List.of(SortKey.DEFAULT, SortKey.byAttribute("rooms", AttributeType.DECIMAL, SortKey.Direction.DESC))) {
+            SearchCriteria criteria = SearchCriteria.builder()
+                    .type(AssetType.CRE)
+                    .where(new Condition<>("rooms", Operator.GTE, AVDecimal.of("rooms", BigDecimal.valueOf(3))))
+                    .orderBy(sort)
+                    .build();
+
+            assertThat(index.lookup(criteria).orElseThrow().exact()).isTrue();
+            assertThat(pages(indexed, criteria)).containsExactlyElementsOf(pages(plain, criteria)).hasSize(2);
+        }
+    }
+
+    @Test
+    void queryServiceReturnsSameResultsWithIndex() {
+        AssetQueryServiceImpl indexed = queryService(index);
+        AssetQueryServiceImpl plain = queryService(new AttributeIndex(entityManager,
+                new DefaultAttributeDefinitionRegistry(List.of()), new SearchIndexProperties(false, null)));
+        SearchCriteria criteria = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .where(new Condition<>("rooms", Operator.GT, AVDecimal.of("rooms", BigDecimal.ONE)))
+                .build();
+        SearchCriteria contains = SearchCriteria.builder()
+                .where(new Condition<>("notes", Operator.LIKE, AVString.of("notes", "%ware%house%")))
+                .build();
+        SearchCriteria unsupported = SearchCriteria.builder()
+                .type(AssetType.CRE)
+                .where(new Condition<>("city", Operator.EQ, AVString.of("city", "Warsaw")))
+                .where(new Condition<>("rooms", Operator.EQ, AVDecimal.of("rooms", null)))
+                .build();
+
+        List<String> expected = plain.search(criteria).stream().map(Asset::getId).toList();
+        List<String> expectedContains = plain.search(contains).stream().map(Asset::getId).toList();
+
+        assertThat(expected).containsExactlyInAnyOrder("idx-2", "idx-4");
+        assertThat(indexed.search(criteria)).extracting(Asset::getId).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(expectedContains).containsExactlyInAnyOrder("idx-0", "idx-3");
+        assertThat(indexed.search(contains)).extracting(Asset::getId)
+                .containsExactlyInAnyOrderElementsOf(expectedContains);
+        assertThat(indexed.search(unsupported)).extracting(Asset::getId)
+                .containsExactlyInAnyOrderElementsOf(plain.search(unsupported).stream().map(Asset::getId).toList());
+    }
+
+    private AssetQueryServiceImpl queryService(AttributeIndex attributeIndex) {
+        AssetSearchSpecificationService specService =
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager));
+        AssetMapperImpl mapper = new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class));
+        return new AssetQueryServiceImpl(mapper, assetRepository, specService,
+                new QueryProperties(null, null, null, null), attributeIndex, entityManager);
+    }
+
+    // Ids of every page of one asset, following the cursors
+    private static List<String> pages(AssetQueryServiceImpl service, SearchCriteria criteria) {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            AssetPage page = service.search(criteria, cursor, 1);
+            page.items().forEach(asset -> ids.add(asset.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
@@ -0,0 +1,142 @@
+package com.db.assetstore.infra.service.search;
+
+import com.db.assetstore.domain.model.type.AVDecimal;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.domain.service.type.DefaultAttributeDefinitionRegistry;
+import com.db.assetstore.infra.config.QueryProperties;
+import com.db.assetstore.infra.config.SearchIndexProperties;
+import com.db.assetstore.infra.mapper.AssetMapperImpl;
+import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
+import com.db.assetstore.infra.repository.AssetRepository;
+import com.db.assetstore.infra.service.AssetQueryServiceImpl;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Attribute search over 1M attribute rows (100k assets with 10 attributes each). Rows are committed per batch
+ * so the load does not sit in one transaction. Run with
+ * {@code mvn test -Dassetstore.benchmark=true -Dtest=AttributeSearchBenchmarkTest -DargLine=-Xmx3g};
+ * timings are logged.
+ */
+@Slf4j
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "assetstore.benchmark", matches = "true")
+class AttributeSearchBenchmarkTest {
+
+    private static final int ASSETS = 100_000;
+    private static final int ATTRIBUTES_PER_ASSET = 10;
+    private static final int RUNS = 20;
+    private static final int LOAD_BATCH = 5_000;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    AssetRepository assetRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    AssetQueryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AssetQueryServiceImpl(
+                new AssetMapperImpl(Mappers.getMapper(AttributesCollectionMapper.class)),
+                assetRepository,
+                new AssetSearchSpecificationService(new AttributeStatisticsService(entityManager)),
+                new QueryProperties(null, null, null, null),
+                new AttributeIndex(entityManager, new DefaultAttributeDefinitionRegistry(List.of()),
+                        new SearchIndexProperties(null, null)),
+                entityManager);
+
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.from(Instant.now());
+        long attributeId = 1_000_000_000L;
+        for (int from = 0; from < ASSETS; from += LOAD_BATCH) {
+            List<Object[]> assets = new ArrayList<>(LOAD_BATCH);
+            List<Object[]> attributes = new ArrayList<>(LOAD_BATCH * ATTRIBUTES_PER_ASSET);
+            for (int i = from; i < from + LOAD_BATCH; i++) {
+                assets.add(new Object[]{"bench-" + i, "CRE", now});
+                String city = "City-" + (i % 1_000);
+                for (int a = 0; a < ATTRIBUTES_PER_ASSET; a++) {
+                    attributes.add(a % 2 == 0
+                            ? new Object[]{attributeId++, "bench-" + i, "str" + a, "STRING", city, city.toLowerCase(), null, now}
+                            : new Object[]{attributeId++, "bench-" + i, "num" + a, "DECIMAL", null, null, BigDecimal.valueOf(i), now});
+                }
+            }
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate("insert into assets (id, type, deleted, created_at, version) values (?, ?, 0, ?, 0)", assets);
+                jdbcTemplate.batchUpdate("""
+                        insert into asset_attribute (id, asset_id, name, value_type, value_str, value_str_norm, value_num, updated_at)
+                        values (?, ?, ?, ?, ?, ?, ?, ?)""", attributes);
+            });
+        }
+        log.info("Loaded {} assets with {} attribute rows in {} ms",
+                ASSETS, ASSETS * ATTRIBUTES_PER_ASSET, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from asset_attribute where asset_id like 'bench-%'");
+        jdbcTemplate.update("delete from assets where id like 'bench-%'");
+    }
+
+    @Test
+    void searchesMillionAttributeRows() {
+        SearchCriteria equality = SearchCriteria.builder()
+                .where("str0", Operator.EQ, AVString.of("str0", "CITY-42"))
+                .build();
+        SearchCriteria range = SearchCriteria.builder()
+                .where("num1", Operator.GT, AVDecimal.of("num1", ASSETS - 50))
+                .build();
+        SearchCriteria combined = SearchCriteria.builder()
+                .where("str2", Operator.EQ, AVString.of("str2", "city-7"))
+                .where("num3", Operator.LT, AVDecimal.of("num3", 5_000))
+                .build();
+
+        assertEquals(100, measure("equality", () -> service.search(equality, null, 500).items().size()));
+        assertEquals(49, measure("range", () -> service.search(range, null, 500).items().size()));
+        assertEquals(5, measure("equality + range", () -> service.search(combined, null, 500).items().size()));
+    }
+
+    private int measure(String name, Supplier<Integer> search) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        int result = readOnly.execute(status -> search.get());
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            readOnly.execute(status -> search.get());
+        }
+        log.info("{} search: {} rows, {} us per query", name, result, (System.nanoTime() - start) / 1_000 / RUNS);
+        return result;
+    }
+}
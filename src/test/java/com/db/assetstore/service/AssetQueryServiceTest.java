@@ -5,6 +5,7 @@ import com.db.assetstore.domain.model.asset.Asset;
 import com.db.assetstore.domain.model.attribute.AttributeValue;
 import com.db.assetstore.domain.model.type.AVString;
 import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.infra.config.QueryProperties;
 import com.db.assetstore.infra.jpa.AssetEntity;
 import com.db.assetstore.infra.jpa.AttributeEntity;
 import com.db.assetstore.infra.mapper.AssetMapper;
@@ -13,6 +14,8 @@ import com.db.assetstore.infra.mapper.AttributesCollectionMapper;
 import com.db.assetstore.infra.repository.AssetRepository;
 import com.db.assetstore.infra.service.AssetQueryServiceImpl;
 import com.db.assetstore.infra.service.search.AssetSearchSpecificationService;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -40,7 +43,8 @@ class AssetQueryServiceTest {
     void setUp() {
         assetRepo = mock(AssetRepository.class);
         specService = mock(AssetSearchSpecificationService.class);
-        service = new AssetQueryServiceImpl(assetMapper, assetRepo, specService);
+        service = new AssetQueryServiceImpl(assetMapper, assetRepo, specService, new QueryProperties(null, null, null, null),
+                mock(AttributeIndex.class), mock(EntityManager.class));
         when(specService.buildSpec(any())).thenReturn(
                 (Specification) (root, query, cb) -> cb.conjunction());
     }
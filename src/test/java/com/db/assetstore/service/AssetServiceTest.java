@@ -6,7 +6,10 @@ import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
 import com.db.assetstore.domain.service.asset.cmd.DeleteAssetCommand;
 import com.db.assetstore.domain.service.asset.cmd.PatchAssetCommand;
+import com.db.assetstore.domain.model.attribute.AttributeValue;
+import com.db.assetstore.domain.model.type.AVDecimal;
 import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.model.type.AttributeType;
 import com.db.assetstore.infra.jpa.AssetEntity;
 import com.db.assetstore.infra.jpa.AttributeEntity;
 import com.db.assetstore.infra.mapper.AssetCommandMapper;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -193,6 +197,31 @@ class AssetServiceTest {
         verify(assetHistoryRepo, times(1)).save(any());
     }
 
+    @Test
+    void changesAttributeTypeAndClearsPreviousValue() {
+        AssetEntity parent = AssetEntity.builder().id("a-6").type(AssetType.CRE).attributes(new java.util.ArrayList<>()).build();
+        AttributeEntity existing = new AttributeEntity(parent, "rooms", "twelve", Instant.now());
+        parent.getAttributes().add(existing);
+        when(assetRepo.findByIdAndDeleted("a-6", 0)).thenReturn(Optional.of(parent));
+
+        PatchAssetCommand cmd = PatchAssetCommand.builder()
+                .assetId("a-6")
+                .attributes(List.of(new AVDecimal("rooms", new BigDecimal("12"))))
+                .executedBy("modifier")
+                .build();
+
+        CommandResult<Void> result = service.patch(cmd);
+
+        assertTrue(result.changed());
+        assertEquals(AttributeType.DECIMAL, existing.getValueType());
+        assertNull(existing.getValueStr());
+        assertNull(existing.getValueStrNorm());
+        AttributeValue<?> readBack = attributeMapper.toModel(existing);
+        assertInstanceOf(AVDecimal.class, readBack);
+        assertEquals(0, new BigDecimal("12").compareTo((BigDecimal) readBack.value()));
+        verify(attributeRepo, times(1)).save(existing);
+    }
+
     @Test
     void doesNotSaveAttribute() {
         AssetEntity parent = AssetEntity.builder().id("a-5").type(AssetType.CRE).attributes(new java.util.ArrayList<>()).build();
@@ -206,11 +235,35 @@ class AssetServiceTest {
                 .executedBy("modifier")
                 .build();
 
-        service.patch(cmd);
+        CommandResult<Void> result = service.patch(cmd);
 
         assertEquals("Warsaw", parent.getAttributes().get(0).getValueStr());
+        assertTrue(result.success());
+        assertFalse(result.changed());
         verify(attributeRepo, never()).save(any());
-        verify(assetHistoryRepo, times(1)).save(any());
+        verify(assetRepo, never()).save(any());
+        verify(assetHistoryRepo, never()).save(any());
+    }
+
+    @Test
+    void noOpCommonFieldsAreNotWritten() {
+        AssetEntity entity = AssetEntity.builder().id("a-7").type(AssetType.CRE).status("ACTIVE")
+                .notionalAmount(new java.math.BigDecimal("10.50")).build();
+        when(assetRepo.findByIdAndDeleted("a-7", 0)).thenReturn(Optional.of(entity));
+
+        PatchAssetCommand cmd = PatchAssetCommand.builder()
+                .assetId("a-7")
+                .status("ACTIVE")
+                .notionalAmount(new java.math.BigDecimal("10.5"))
+                .executedBy("updater")
+                .build();
+
+        CommandResult<Void> result = service.patch(cmd);
+
+        assertFalse(result.changed());
+        assertNull(entity.getModifiedBy());
+        verify(assetRepo, never()).save(any());
+        verify(assetHistoryRepo, never()).save(any());
     }
 
     @Test
@@ -1,6 +1,7 @@
 package com.db.assetstore.service;
 
 import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.cmd.AssetsChangedEvent;
 import com.db.assetstore.domain.service.cmd.CommandResult;
 import com.db.assetstore.domain.service.asset.cmd.CreateAssetCommand;
 import com.db.assetstore.domain.service.asset.cmd.DeleteAssetCommand;
@@ -13,8 +14,11 @@ import com.db.assetstore.infra.service.cmd.CommandLogService;
 import com.db.assetstore.infra.service.cmd.CommandServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.Instant;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -24,6 +28,7 @@ class CommandServiceTest {
     AssetService assetService;
     AssetLinkService assetLinkService;
     CommandLogService commandLogService;
+    ApplicationEventPublisher eventPublisher;
 
     CommandServiceImpl service;
 
@@ -32,8 +37,9 @@ class CommandServiceTest {
         assetService = mock(AssetService.class);
         assetLinkService = mock(AssetLinkService.class);
         commandLogService = mock(CommandLogService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
 
-        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService);
+        service = new CommandServiceImpl(assetService, assetLinkService, commandLogService, eventPublisher);
     }
 
     @Test
@@ -52,6 +58,7 @@ class CommandServiceTest {
         assertThat(result).isEqualTo(expected);
         verify(assetService).create(command);
         verify(commandLogService).record(expected, command);
+        verify(eventPublisher).publishEvent(new AssetsChangedEvent(List.of("asset-1")));
         verifyNoInteractions(assetLinkService);
     }
 
@@ -11,7 +11,7 @@ public final class AttributeTestHelpers {
     }
 
     public static AttributeDefinition definition(AssetType assetType, String name, AttributeType type) {
-        return new AttributeDefinition(assetType, name, type);
+        return new AttributeDefinition(assetType, name, type, false);
     }
 
     public static ConstraintDefinition constraint(AttributeDefinition definition, ConstraintDefinition.Rule rule) {
@@ -62,4 +62,25 @@ class AssetEventTest {
                 .andExpect(jsonPath("$.notional_amount", is(closeTo(123.45, 0.0001))))
                 .andExpect(jsonPath("$.asset_status", is("ACTIVE")));
     }
+
+    @Test
+    void repeatedEventRequestWithCurrentETagIsNotModified() throws Exception {
+        MvcResult res = mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "status": "ACTIVE", "attributes": {"city": "Gdansk"}}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn();
+        String id = res.getResponse().getContentAsString();
+
+        String etag = mockMvc.perform(get("/events/" + id + "/asset-cre"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", startsWith("W/")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/events/" + id + "/asset-cre").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(emptyString()));
+    }
 }
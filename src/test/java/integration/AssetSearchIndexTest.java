@@ -0,0 +1,75 @@
+package integration;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.model.type.AVString;
+import com.db.assetstore.domain.search.Condition;
+import com.db.assetstore.domain.search.Operator;
+import com.db.assetstore.domain.search.SearchCriteria;
+import com.db.assetstore.infra.service.search.AttributeIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = com.db.assetstore.AssetStorePocApplication.class,
+        properties = "assetstore.search.index.enabled=true")
+@AutoConfigureMockMvc
+class AssetSearchIndexTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AttributeIndex attributeIndex;
+
+    @Test
+    void committedCommandsRefreshTheIndex() throws Exception {
+        String id = mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "status": "ACTIVE", "attributes": {"city": "Sopot"}}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(candidates("Sopot")).containsExactly(id);
+
+        mockMvc.perform(patch("/assets/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"executedBy": "updater", "attributes": {"city": "Gdynia"}}
+                                """))
+                .andExpect(status().isNoContent());
+
+        assertThat(candidates("Sopot")).isEmpty();
+        assertThat(candidates("Gdynia")).containsExactly(id);
+
+        mockMvc.perform(delete("/assets/" + id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"id":"%s","executedBy":"tester"}
+                                """.formatted(id)))
+                .andExpect(status().isNoContent());
+
+        assertThat(candidates("Gdynia")).isEmpty();
+    }
+
+    private List<String> candidates(String city) {
+        return attributeIndex.lookup(SearchCriteria.builder()
+                        .type(AssetType.CRE)
+                        .where(new Condition<>("city", Operator.EQ, AVString.of("city", city)))
+                        .build())
+                .orElseThrow()
+                .assetIds();
+    }
+}
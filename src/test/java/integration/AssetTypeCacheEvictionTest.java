@@ -0,0 +1,53 @@
+package integration;
+
+import com.db.assetstore.domain.model.asset.AssetType;
+import com.db.assetstore.domain.service.asset.AssetCommandService;
+import com.db.assetstore.domain.service.asset.cmd.DeleteAssetCommand;
+import com.db.assetstore.infra.service.AssetTypeResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = com.db.assetstore.AssetStorePocApplication.class)
+@AutoConfigureMockMvc
+class AssetTypeCacheEvictionTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    AssetCommandService commandService;
+
+    @Autowired
+    AssetTypeResolver assetTypeResolver;
+
+    @Test
+    void deleteCommittedOutsideTheControllerEvictsTheCachedType() throws Exception {
+        String id = mockMvc.perform(post("/assets")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"type": "CRE", "status": "ACTIVE", "attributes": {"city": "Torun"}}
+                                """))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(assetTypeResolver.resolve(id)).isEqualTo(Optional.of(AssetType.CRE));
+
+        commandService.delete(DeleteAssetCommand.builder()
+                .assetId(id)
+                .executedBy("tester")
+                .requestTime(Instant.now())
+                .build());
+
+        assertThat(assetTypeResolver.resolve(id)).isEmpty();
+    }
+}